@@ -0,0 +1,37 @@
+package com.example.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 여러 노드가 공유하는 원격 캐시 저장소
+ * 값은 직렬화된 바이트로 저장되며, 노드 간 무효화 메시지 전달(pub/sub)도 담당한다.
+ */
+public interface CacheBackend {
+    
+    /**
+     * 키에 해당하는 값 조회 (없거나 만료되었으면 null)
+     */
+    byte[] get(String key);
+    
+    void put(String key, byte[] value, long ttlMillis);
+    
+    void evict(String key);
+    
+    /**
+     * 키가 없을 때만 ttlMillis 동안 유지되는 값 저장 (SET NX PX) - 저장했으면 true
+     * 노드 간 조회 임대(lease)에 사용하며, 해제는 evict로 한다.
+     */
+    boolean tryLease(String key, byte[] value, long ttlMillis);
+    
+    /**
+     * 채널에 메시지 발행 (모든 노드에 전달)
+     */
+    void publish(String channel, String message);
+    
+    /**
+     * 채널 구독 - 메시지는 백엔드의 전용 스레드에서 전달된다
+     */
+    void subscribe(String channel, Consumer<String> listener);
+    
+    void close();
+}
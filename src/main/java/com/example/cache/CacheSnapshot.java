@@ -0,0 +1,102 @@
+package com.example.cache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TwoTierCache 로컬 항목 스냅샷 (재시작/배포 후 캐시 복원용)
+ * 값은 캐시 이름별 값 타입을 알아야 역직렬화할 수 있으므로 직렬화된 바이트 그대로 보관하고,
+ * 캐시가 생성될 때 TieredCacheManager가 해당 타입으로 복원한다.
+ *
+ * 형식: magic(int) version(int) createdAt(long)
+ *       cacheCount(int) [name(UTF) entryCount(int) [key(UTF) expireTime(long) length(int) value(bytes)]...]...
+ */
+class CacheSnapshot {
+
+    private static final int MAGIC = 0x444C4353; // "DLCS"
+    private static final int FORMAT_VERSION = 1;
+
+    /** 직렬화된 캐시 항목 */
+    static class Entry {
+        final String key;
+        final long expireTime;
+        final byte[] value;
+
+        Entry(String key, long expireTime, byte[] value) {
+            this.key = key;
+            this.expireTime = expireTime;
+            this.value = value;
+        }
+    }
+
+    private final long createdAt;
+    private final Map<String, List<Entry>> caches;
+
+    CacheSnapshot(long createdAt, Map<String, List<Entry>> caches) {
+        this.createdAt = createdAt;
+        this.caches = caches;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * 캐시 이름 → 항목 목록
+     */
+    Map<String, List<Entry>> getCaches() {
+        return caches;
+    }
+
+    void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeLong(createdAt);
+
+        data.writeInt(caches.size());
+        for (Map.Entry<String, List<Entry>> cache : caches.entrySet()) {
+            data.writeUTF(cache.getKey());
+            data.writeInt(cache.getValue().size());
+            for (Entry entry : cache.getValue()) {
+                data.writeUTF(entry.key);
+                data.writeLong(entry.expireTime);
+                data.writeInt(entry.value.length);
+                data.write(entry.value);
+            }
+        }
+        data.flush();
+    }
+
+    static CacheSnapshot read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC || data.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported cache snapshot format");
+        }
+        long createdAt = data.readLong();
+
+        int cacheCount = data.readInt();
+        Map<String, List<Entry>> caches = new HashMap<>();
+        for (int i = 0; i < cacheCount; i++) {
+            String name = data.readUTF();
+            int entryCount = data.readInt();
+            List<Entry> entries = new ArrayList<>(entryCount);
+            for (int j = 0; j < entryCount; j++) {
+                String key = data.readUTF();
+                long expireTime = data.readLong();
+                byte[] value = new byte[data.readInt()];
+                data.readFully(value);
+                entries.add(new Entry(key, expireTime, value));
+            }
+            caches.put(name, entries);
+        }
+        return new CacheSnapshot(createdAt, caches);
+    }
+}
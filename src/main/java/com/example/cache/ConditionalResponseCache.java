@@ -0,0 +1,131 @@
+package com.example.cache;
+
+import com.example.http.Bulkhead;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 업스트림 응답 검증자(ETag / Last-Modified)와 파싱 결과 저장소
+ * 같은 URL을 다시 요청할 때 If-None-Match / If-Modified-Since를 보내고,
+ * 304 응답이면 본문을 다시 받거나 파싱하지 않고 저장해 둔 파싱 결과를 그대로 반환한다.
+ * 검증자는 데이터 캐시 TTL과 무관하게 유지되므로 캐시 만료 후 갱신 요청에서 효과가 있다.
+ * 항목 수로만 제한하므로, 큰 응답(match-history 등)의 parser는 JSON 트리 대신 압축된 모델을 반환해야 한다.
+ */
+@Component
+public class ConditionalResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConditionalResponseCache.class);
+
+    @Value("${cache.conditional.max.entries:2000}")
+    private int maxEntries;
+
+    private Map<String, Validators> entries;
+
+    /**
+     * 200 응답 본문 파싱 (304 응답에서는 호출되지 않음)
+     */
+    public interface EntityParser<T> {
+        T parse(HttpEntity entity) throws IOException;
+    }
+
+    private static class Validators {
+        final String etag;
+        final String lastModified;
+        final Object value;
+
+        Validators(String etag, String lastModified, Object value) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.value = value;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        this.entries = new LinkedHashMap<String, Validators>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Validators> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        logger.info("ConditionalResponseCache initialized: maxEntries={}", maxEntries);
+    }
+
+    /**
+     * 조건부 GET 실행
+     * 200이면 파싱 결과를 검증자와 함께 저장하여 반환, 304이면 저장된 결과 반환, 그 외 상태는 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Bulkhead bulkhead, HttpGet request, EntityParser<T> parser) throws IOException {
+        String key = request.getURI().toString();
+        Validators cached = get(key);
+        if (cached != null) {
+            if (cached.etag != null) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, cached.etag);
+            }
+            if (cached.lastModified != null) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified);
+            }
+        }
+
+        return bulkhead.execute(request, response -> {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED && cached != null) {
+                EntityUtils.consume(response.getEntity());
+                logger.debug("Not modified, reusing parsed response: {}{}",
+                            request.getURI().getHost(), request.getURI().getPath());
+                return (T) cached.value;
+            }
+            if (statusCode != HttpStatus.SC_OK) {
+                EntityUtils.consume(response.getEntity());
+                // 쿼리 문자열에는 API 키가 포함될 수 있어 호스트와 경로만 기록
+                logger.warn("Upstream {}{} returned status: {}",
+                           request.getURI().getHost(), request.getURI().getPath(), statusCode);
+                return null;
+            }
+
+            T value = parser.parse(response.getEntity());
+            String etag = headerValue(response.getFirstHeader(HttpHeaders.ETAG));
+            String lastModified = headerValue(response.getFirstHeader(HttpHeaders.LAST_MODIFIED));
+            if (value != null && (etag != null || lastModified != null)) {
+                put(key, new Validators(etag, lastModified, value));
+            } else if (cached != null) {
+                remove(key);
+            }
+            return value;
+        });
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized Validators get(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(String key, Validators entry) {
+        entries.put(key, entry);
+    }
+
+    private synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    private static String headerValue(Header header) {
+        return header != null ? header.getValue() : null;
+    }
+}
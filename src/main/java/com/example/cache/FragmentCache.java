@@ -0,0 +1,110 @@
+package com.example.cache;
+
+import com.example.model.SteamId;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 변하지 않는 매치 요약의 직렬화 결과(JSON 바이트) 캐시
+ * 키는 "matchId:steamId:catalogVersion" - 종료된 매치 요약은 바뀌지 않으므로 TTL 없이 최근 사용 순으로 용량만 제한하고,
+ * 영웅/아이템 이름과 이미지가 바뀌면 카탈로그 버전이 달라져 이전 조각은 더 이상 조회되지 않고 밀려난다.
+ */
+@Component
+public class FragmentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FragmentCache.class);
+
+    @Value("${cache.fragment.max.bytes:33554432}")
+    private long maxBytes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Map<String, SerializedFragment> fragments;
+    private long totalBytes;
+
+    @PostConstruct
+    public void init() {
+        this.fragments = new LinkedHashMap<>(1024, 0.75f, true);
+        logger.info("FragmentCache initialized: maxBytes={}", maxBytes);
+    }
+
+    /**
+     * 매치 요약의 직렬화 조각 (없으면 직렬화하여 저장)
+     */
+    public SerializedFragment getMatchFragment(SteamId steamId, long catalogVersion, Map<String, Object> match) {
+        String key = match.get("matchId") + ":" + steamId + ":" + catalogVersion;
+
+        synchronized (this) {
+            SerializedFragment cached = fragments.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        SerializedFragment fragment;
+        try {
+            fragment = new SerializedFragment(objectMapper.writeValueAsString(match));
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize match fragment {}: {}", key, e.getMessage());
+            throw new IllegalStateException(e);
+        }
+
+        synchronized (this) {
+            SerializedFragment previous = fragments.put(key, fragment);
+            totalBytes += fragment.byteSize() - (previous != null ? previous.byteSize() : 0);
+            evictOverLimit();
+        }
+        return fragment;
+    }
+
+    /**
+     * 전체 크기가 한도 아래로 내려갈 때까지 오래 사용하지 않은 조각부터 제거 (큰 조각 하나로 여러 개가 밀려날 수 있음)
+     */
+    private void evictOverLimit() {
+        Iterator<SerializedFragment> eldest = fragments.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().byteSize();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * 응답의 매치 목록을 미리 직렬화된 조각으로 교체 (JSON 응답은 캐시된 바이트를 그대로 복사)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> withMatchFragments(SteamId steamId, long catalogVersion, Map<String, Object> result) {
+        Object matches = result.get("matches");
+        if (!(matches instanceof List)) {
+            return result;
+        }
+
+        List<SerializedFragment> matchFragments = new ArrayList<>();
+        for (Map<String, Object> match : (List<Map<String, Object>>) matches) {
+            matchFragments.add(getMatchFragment(steamId, catalogVersion, match));
+        }
+
+        Map<String, Object> response = new HashMap<>(result);
+        response.put("matches", matchFragments);
+        return response;
+    }
+
+    public synchronized int size() {
+        return fragments.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+}
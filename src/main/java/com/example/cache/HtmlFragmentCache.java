@@ -0,0 +1,64 @@
+package com.example.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JSP에서 렌더링한 HTML 조각 캐시 (매치 행, 통계 블록 등)
+ * 키에 애플리케이션 버전을 붙여 배포로 템플릿이 바뀌면 이전 조각을 쓰지 않으며,
+ * 최근 사용 순으로 전체 문자 수만 제한한다.
+ */
+@Component
+public class HtmlFragmentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(HtmlFragmentCache.class);
+
+    @Value("${cache.html.fragment.max.chars:8388608}")
+    private long maxChars;
+
+    @Value("${app.version:1.0.0}")
+    private String templateVersion;
+
+    private Map<String, String> fragments;
+    private long totalChars;
+
+    @PostConstruct
+    public void init() {
+        this.fragments = new LinkedHashMap<>(1024, 0.75f, true);
+        logger.info("HtmlFragmentCache initialized: maxChars={}, templateVersion={}", maxChars, templateVersion);
+    }
+
+    /**
+     * 캐시된 HTML 조회 (없으면 null)
+     */
+    public synchronized String get(String key, String version) {
+        return fragments.get(cacheKey(key, version));
+    }
+
+    public synchronized void put(String key, String version, String html) {
+        String previous = fragments.put(cacheKey(key, version), html);
+        totalChars += html.length() - (previous != null ? previous.length() : 0);
+
+        // 전체 문자 수가 한도 아래로 내려갈 때까지 오래 사용하지 않은 조각부터 제거
+        Iterator<String> eldest = fragments.values().iterator();
+        while (totalChars > maxChars && eldest.hasNext()) {
+            totalChars -= eldest.next().length();
+            eldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return fragments.size();
+    }
+
+    private String cacheKey(String key, String version) {
+        return templateVersion + '|' + key + '|' + (version != null ? version : "");
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 프로세스 내부 CacheBackend 구현
+ * Redis 없이 단일 노드로 실행하거나 테스트에서 원격 저장소를 대신할 때 사용한다.
+ */
+public class InMemoryCacheBackend implements CacheBackend {
+    
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+    
+    private static class Entry {
+        final byte[] value;
+        final long expireTime;
+        
+        Entry(byte[] value, long ttlMillis) {
+            this.value = value;
+            this.expireTime = System.currentTimeMillis() + ttlMillis;
+        }
+    }
+    
+    @Override
+    public byte[] get(String key) {
+        Entry entry = store.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() > entry.expireTime) {
+            store.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+    
+    @Override
+    public void put(String key, byte[] value, long ttlMillis) {
+        store.put(key, new Entry(value, ttlMillis));
+    }
+    
+    @Override
+    public boolean tryLease(String key, byte[] value, long ttlMillis) {
+        Entry lease = new Entry(value, ttlMillis);
+        long now = System.currentTimeMillis();
+        return store.compute(key, (k, existing) ->
+                existing == null || now > existing.expireTime ? lease : existing) == lease;
+    }
+    
+    @Override
+    public void evict(String key) {
+        store.remove(key);
+    }
+    
+    @Override
+    public void publish(String channel, String message) {
+        List<Consumer<String>> listeners = subscribers.get(channel);
+        if (listeners != null) {
+            listeners.forEach(listener -> listener.accept(message));
+        }
+    }
+    
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+    
+    @Override
+    public void close() {
+        store.clear();
+        subscribers.clear();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.params.SetParams;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Redis 프로토콜 호환 저장소를 사용하는 CacheBackend
+ * 원격 저장소 장애는 캐시 미스로 처리하여 요청 처리에 영향을 주지 않는다.
+ */
+public class RedisCacheBackend implements CacheBackend {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RedisCacheBackend.class);
+    
+    private static final long RESUBSCRIBE_DELAY_MS = 5000;
+    
+    private final JedisPool pool;
+    private volatile boolean closed;
+    
+    public RedisCacheBackend(String host, int port, String password, int timeoutMillis, int maxConnections) {
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(maxConnections);
+        poolConfig.setMaxIdle(maxConnections);
+        poolConfig.setTestWhileIdle(true);
+        
+        String redisPassword = password == null || password.isEmpty() ? null : password;
+        this.pool = new JedisPool(poolConfig, host, port, timeoutMillis, redisPassword);
+        
+        logger.info("RedisCacheBackend connected to {}:{}", host, port);
+    }
+    
+    @Override
+    public byte[] get(String key) {
+        try (Jedis jedis = pool.getResource()) {
+            return jedis.get(key.getBytes(StandardCharsets.UTF_8));
+        } catch (JedisException e) {
+            logger.warn("Remote cache get failed for key {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+    
+    @Override
+    public void put(String key, byte[] value, long ttlMillis) {
+        try (Jedis jedis = pool.getResource()) {
+            jedis.set(key.getBytes(StandardCharsets.UTF_8), value, SetParams.setParams().px(ttlMillis));
+        } catch (JedisException e) {
+            logger.warn("Remote cache put failed for key {}: {}", key, e.getMessage());
+        }
+    }
+    
+    @Override
+    public boolean tryLease(String key, byte[] value, long ttlMillis) {
+        try (Jedis jedis = pool.getResource()) {
+            return "OK".equals(jedis.set(key.getBytes(StandardCharsets.UTF_8), value, SetParams.setParams().nx().px(ttlMillis)));
+        } catch (JedisException e) {
+            // 원격 저장소 장애 시에는 각 노드가 직접 조회
+            logger.warn("Remote cache lease failed for key {}: {}", key, e.getMessage());
+            return true;
+        }
+    }
+    
+    @Override
+    public void evict(String key) {
+        try (Jedis jedis = pool.getResource()) {
+            jedis.del(key.getBytes(StandardCharsets.UTF_8));
+        } catch (JedisException e) {
+            logger.warn("Remote cache evict failed for key {}: {}", key, e.getMessage());
+        }
+    }
+    
+    @Override
+    public void publish(String channel, String message) {
+        try (Jedis jedis = pool.getResource()) {
+            jedis.publish(channel, message);
+        } catch (JedisException e) {
+            logger.warn("Remote cache publish failed on channel {}: {}", channel, e.getMessage());
+        }
+    }
+    
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        // SUBSCRIBE는 연결을 점유하므로 전용 스레드에서 실행하고, 연결이 끊기면 다시 구독
+        Thread subscriber = new Thread(() -> {
+            while (!closed) {
+                try (Jedis jedis = pool.getResource()) {
+                    jedis.subscribe(new JedisPubSub() {
+                        @Override
+                        public void onMessage(String ch, String message) {
+                            listener.accept(message);
+                        }
+                    }, channel);
+                } catch (JedisException e) {
+                    if (closed) {
+                        break;
+                    }
+                    logger.warn("Remote cache subscription on {} lost, retrying: {}", channel, e.getMessage());
+                    try {
+                        Thread.sleep(RESUBSCRIBE_DELAY_MS);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }, "cache-invalidation-" + channel);
+        subscriber.setDaemon(true);
+        subscriber.start();
+    }
+    
+    @Override
+    public void close() {
+        closed = true;
+        pool.close();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.cache;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * 미리 JSON으로 직렬화해 둔 값
+ * JSON 출력에서는 캐시된 UTF-8 바이트를 그대로 복사하고,
+ * 그 외 형식(CBOR 등)에서는 캐시된 JSON을 다시 읽어 토큰 단위로 옮겨 쓴다.
+ * 원본 Map은 보관하지 않으므로 캐시 크기는 JSON 바이트 수와 같다.
+ */
+public class SerializedFragment extends JsonSerializable.Base {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final SerializedString json;
+
+    SerializedFragment(String json) {
+        this.json = new SerializedString(json);
+        // UTF-8 바이트를 미리 만들어 응답마다 인코딩하지 않도록 함
+        this.json.asUnquotedUTF8();
+    }
+
+    /**
+     * 캐시된 JSON UTF-8 바이트 (복사하지 않으므로 수정 금지)
+     */
+    public byte[] getJsonBytes() {
+        return json.asUnquotedUTF8();
+    }
+
+    int byteSize() {
+        return getJsonBytes().length;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (gen instanceof JsonGeneratorImpl) {
+            gen.writeRawValue(json);
+        } else {
+            try (JsonParser parser = JSON_FACTORY.createParser(getJsonBytes())) {
+                parser.nextToken();
+                gen.copyCurrentStructure(parser);
+            }
+        }
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers,
+                                  TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 이름별 TwoTierCache 생성 및 원격 저장소/노드 간 무효화 메시지 관리
+ * 로컬 캐시 내용은 종료 시와 주기적으로 스냅샷 파일에 저장하고, 재시작 후 캐시가 생성될 때
+ * 남은 TTL 그대로 복원하여 배포 직후에도 업스트림 API로 요청이 몰리지 않게 한다.
+ */
+@Component
+public class TieredCacheManager {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TieredCacheManager.class);
+    
+    private static final String INVALIDATION_CHANNEL = "deadlock:cache:invalidate";
+    
+    @Value("${cache.remote.type:none}")
+    private String remoteType;
+    
+    @Value("${cache.remote.host:localhost}")
+    private String remoteHost;
+    
+    @Value("${cache.remote.port:6379}")
+    private int remotePort;
+    
+    @Value("${cache.remote.password:}")
+    private String remotePassword;
+    
+    @Value("${cache.remote.timeout:2000}")
+    private int remoteTimeout;
+    
+    @Value("${cache.remote.max.connections:16}")
+    private int remoteMaxConnections;
+    
+    @Value("${cache.local.ttl:60}")
+    private int localTtlSeconds;
+    
+    @Value("${cache.local.max.entries:10000}")
+    private int localMaxEntries;
+    
+    @Value("${cache.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+    
+    @Value("${cache.snapshot.path:data/deadlock-stats-cache.bin}")
+    private String snapshotPath;
+    
+    @Value("${cache.snapshot.interval.seconds:300}")
+    private int snapshotIntervalSeconds;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 스냅샷 값은 CBOR로 직렬화 (JSON보다 작고 빠름)
+    private final ObjectMapper snapshotMapper = new ObjectMapper(new CBORFactory());
+    // 스냅샷에서 읽었지만 아직 해당 캐시가 생성되지 않은 항목
+    private final Map<String, List<CacheSnapshot.Entry>> pendingRestore = new ConcurrentHashMap<>();
+    private ScheduledExecutorService snapshotWriter;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache<?>> caches = new ConcurrentHashMap<>();
+    private CacheBackend remote;
+    
+    @PostConstruct
+    public void init() {
+        if ("redis".equalsIgnoreCase(remoteType)) {
+            remote = new RedisCacheBackend(remoteHost, remotePort, remotePassword, remoteTimeout, remoteMaxConnections);
+        } else if ("memory".equalsIgnoreCase(remoteType)) {
+            remote = new InMemoryCacheBackend();
+        }
+        
+        if (remote != null) {
+            remote.subscribe(INVALIDATION_CHANNEL, this::onInvalidation);
+        }
+        
+        if (snapshotEnabled) {
+            loadSnapshot();
+            this.snapshotWriter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "cache-snapshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotWriter.scheduleWithFixedDelay(this::writeSnapshot,
+                    snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+        
+        logger.info("TieredCacheManager initialized: remote={}, localTtl={}s, localMaxEntries={}, snapshot={}",
+                   remote != null ? remoteType : "none", localTtlSeconds, localMaxEntries,
+                   snapshotEnabled ? snapshotPath : "disabled");
+    }
+    
+    @PreDestroy
+    public void destroy() {
+        if (snapshotWriter != null) {
+            snapshotWriter.shutdownNow();
+            // 캐시를 사용하는 서비스들이 먼저 종료되므로 이 시점의 내용이 최종 상태
+            writeSnapshot();
+        }
+        if (remote != null) {
+            remote.close();
+        }
+    }
+    
+    /**
+     * Map 값을 저장하는 캐시 (서비스들이 사용하는 응답 형식)
+     */
+    public TwoTierCache<Map<String, Object>> getMapCache(String name) {
+        return getCache(name, objectMapper.getTypeFactory().constructMapType(HashMap.class, String.class, Object.class));
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <V> TwoTierCache<V> getCache(String name, JavaType valueType) {
+        return (TwoTierCache<V>) caches.computeIfAbsent(name, n -> {
+            TwoTierCache<V> cache = new TwoTierCache<V>(
+                    n, valueType, objectMapper, remote, localTtlSeconds * 1000L, localMaxEntries,
+                    key -> publishInvalidation(n, key));
+            List<CacheSnapshot.Entry> pending = pendingRestore.remove(n);
+            if (pending != null && !pending.isEmpty()) {
+                int restored = cache.restoreLocal(pending, snapshotMapper);
+                logger.info("Restored {} of {} snapshot entries into cache {}", restored, pending.size(), n);
+            }
+            return cache;
+        });
+    }
+    
+    public <V> TwoTierCache<V> getCache(String name, Class<V> valueType) {
+        return getCache(name, objectMapper.getTypeFactory().constructType(valueType));
+    }
+    
+    public boolean isRemoteEnabled() {
+        return remote != null;
+    }
+    
+    /**
+     * 스냅샷 파일을 읽어 캐시별 복원 대기 목록에 보관 (파일이 없거나 손상되었으면 빈 캐시로 시작)
+     */
+    private void loadSnapshot() {
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) {
+            logger.info("No cache snapshot at {}, starting cold", path);
+            return;
+        }
+        
+        long start = System.nanoTime();
+        try (InputStream in = new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path)))) {
+            CacheSnapshot snapshot = CacheSnapshot.read(in);
+            pendingRestore.putAll(snapshot.getCaches());
+            logger.info("Cache snapshot from {} loaded in {} ms: {} caches",
+                       Instant.ofEpochMilli(snapshot.getCreatedAt()), (System.nanoTime() - start) / 1_000_000,
+                       snapshot.getCaches().size());
+        } catch (IOException e) {
+            logger.warn("Failed to read cache snapshot {}: {}", path, e.getMessage());
+        }
+    }
+    
+    /**
+     * 모든 캐시의 로컬 항목을 스냅샷 파일로 저장 (임시 파일에 쓴 뒤 교체)
+     */
+    private synchronized void writeSnapshot() {
+        Map<String, List<CacheSnapshot.Entry>> entries = new HashMap<>();
+        int total = 0;
+        for (TwoTierCache<?> cache : caches.values()) {
+            List<CacheSnapshot.Entry> cacheEntries = cache.snapshotLocal(snapshotMapper);
+            entries.put(cache.getName(), cacheEntries);
+            total += cacheEntries.size();
+        }
+        
+        Path path = Paths.get(snapshotPath);
+        try {
+            Path dir = path.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                new CacheSnapshot(System.currentTimeMillis(), entries).write(out);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Cache snapshot written to {}: {} entries", path, total);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to write cache snapshot {}: {}", path, e.getMessage());
+        }
+    }
+    
+    private void publishInvalidation(String cacheName, String key) {
+        remote.publish(INVALIDATION_CHANNEL, nodeId + "|" + cacheName + "|" + key);
+    }
+    
+    /**
+     * 다른 노드의 무효화 메시지 처리 (형식: nodeId|cacheName|key)
+     */
+    private void onInvalidation(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoTierCache<?> cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.invalidateLocal(parts[2]);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 로컬 near-cache + 공유 원격 캐시 2단계 캐시
+ * 조회는 로컬 → 원격 순서로 확인하고, 저장/삭제 시에는 다른 노드에 무효화 메시지를 보내
+ * 각 노드의 로컬 사본을 제거한다. 원격 저장소가 없으면 로컬 캐시로만 동작한다.
+ * 로컬 사본은 maxLocalEntries를 넘으면 가장 오래 사용하지 않은 항목부터 밀려난다.
+ * 원격 저장소가 있으면 조회 임대(lease)로 같은 키의 업스트림 조회를 클러스터에서 한 노드만 하도록 한다.
+ */
+public class TwoTierCache<V> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TwoTierCache.class);
+    
+    private static final long LEASE_POLL_MILLIS = 100;
+    private static final byte[] LEASE_VALUE = {1};
+    
+    private final String name;
+    private final JavaType valueType;
+    private final ObjectMapper objectMapper;
+    private final CacheBackend remote;
+    private final long localTtlMillis;
+    private final int maxLocalEntries;
+    private final Consumer<String> invalidationPublisher;
+    
+    private final Map<String, LocalEntry<V>> local;
+    
+    private static class LocalEntry<V> {
+        final V value;
+        final long expireTime;       // 데이터 자체의 만료 시각
+        final long localExpireTime;  // 로컬 사본의 만료 시각 (원격 캐시가 있으면 더 짧음)
+        
+        LocalEntry(V value, long expireTime, long localExpireTime) {
+            this.value = value;
+            this.expireTime = expireTime;
+            this.localExpireTime = localExpireTime;
+        }
+    }
+    
+    TwoTierCache(String name, JavaType valueType, ObjectMapper objectMapper, CacheBackend remote,
+                 long localTtlMillis, int maxLocalEntries, Consumer<String> invalidationPublisher) {
+        this.name = name;
+        this.valueType = valueType;
+        this.objectMapper = objectMapper;
+        this.remote = remote;
+        this.localTtlMillis = localTtlMillis;
+        this.maxLocalEntries = maxLocalEntries;
+        this.invalidationPublisher = invalidationPublisher;
+        // 접근 순서 LinkedHashMap - 가득 차면 가장 오래 사용하지 않은 사본을 제거
+        this.local = Collections.synchronizedMap(new LinkedHashMap<String, LocalEntry<V>>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalEntry<V>> eldest) {
+                return size() > maxLocalEntries;
+            }
+        });
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * 캐시 조회 (로컬 → 원격), 없거나 만료되었으면 null
+     */
+    public V get(String key) {
+        long now = System.currentTimeMillis();
+        LocalEntry<V> entry = local.get(key);
+        if (entry != null && now <= entry.localExpireTime) {
+            return entry.value;
+        }
+        if (entry != null) {
+            local.remove(key, entry);
+        }
+        
+        if (remote == null) {
+            return null;
+        }
+        
+        byte[] bytes = remote.get(remoteKey(key));
+        if (bytes == null) {
+            return null;
+        }
+        
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long expireTime = buffer.getLong();
+            if (now > expireTime) {
+                return null;
+            }
+            V value = objectMapper.readValue(bytes, Long.BYTES, bytes.length - Long.BYTES, valueType);
+            putLocal(key, value, expireTime);
+            return value;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to deserialize remote cache entry {}:{}: {}", name, key, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 캐시 저장 - 원격 캐시에 기록하고 다른 노드의 로컬 사본 무효화
+     */
+    public void put(String key, V value, long ttlSeconds) {
+        long expireTime = System.currentTimeMillis() + ttlSeconds * 1000;
+        putLocal(key, value, expireTime);
+        
+        if (remote != null) {
+            try {
+                byte[] payload = objectMapper.writeValueAsBytes(value);
+                ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + payload.length);
+                buffer.putLong(expireTime).put(payload);
+                remote.put(remoteKey(key), buffer.array(), ttlSeconds * 1000);
+                invalidationPublisher.accept(key);
+            } catch (IOException e) {
+                logger.warn("Failed to serialize cache entry {}:{}: {}", name, key, e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 키의 업스트림 조회 임대 획득 (SET NX) - 다른 노드가 이미 조회 중이면 false
+     * 원격 저장소가 없으면 노드 안의 중복 제거만으로 충분하므로 항상 true
+     */
+    public boolean tryAcquireLoad(String key, long leaseMillis) {
+        return remote == null || remote.tryLease(leaseKey(key), LEASE_VALUE, leaseMillis);
+    }
+    
+    public void releaseLoad(String key) {
+        if (remote != null) {
+            remote.evict(leaseKey(key));
+        }
+    }
+    
+    /**
+     * 다른 노드가 임대를 놓을 때까지 최대 waitMillis 대기한 뒤 캐시된 값 반환 (없으면 null - 호출 쪽에서 직접 조회)
+     */
+    public V awaitLoad(String key, long waitMillis) {
+        if (remote == null) {
+            return null;
+        }
+        long deadline = System.currentTimeMillis() + waitMillis;
+        try {
+            while (remote.get(leaseKey(key)) != null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(LEASE_POLL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        // 무효화 메시지보다 먼저 읽을 수 있으므로 로컬 사본을 건너뛰고 원격 값을 사용
+        local.remove(key);
+        return get(key);
+    }
+    
+    public void evict(String key) {
+        local.remove(key);
+        if (remote != null) {
+            remote.evict(remoteKey(key));
+            invalidationPublisher.accept(key);
+        }
+    }
+    
+    /**
+     * 데이터 만료 시각 (캐시에 없으면 0)
+     */
+    public long getExpireTime(String key) {
+        LocalEntry<V> entry = local.get(key);
+        if (entry != null) {
+            return entry.expireTime;
+        }
+        if (remote != null) {
+            byte[] bytes = remote.get(remoteKey(key));
+            if (bytes != null && bytes.length >= Long.BYTES) {
+                return ByteBuffer.wrap(bytes).getLong();
+            }
+        }
+        return 0L;
+    }
+    
+    public int localSize() {
+        return local.size();
+    }
+    
+    /**
+     * 스냅샷용 로컬 항목 직렬화 (아직 유효한 항목만, 데이터 만료 시각 포함)
+     */
+    List<CacheSnapshot.Entry> snapshotLocal(ObjectMapper mapper) {
+        long now = System.currentTimeMillis();
+        List<Map.Entry<String, LocalEntry<V>>> copies;
+        synchronized (local) {
+            copies = new ArrayList<>(local.entrySet());
+        }
+        List<CacheSnapshot.Entry> entries = new ArrayList<>();
+        for (Map.Entry<String, LocalEntry<V>> e : copies) {
+            LocalEntry<V> entry = e.getValue();
+            if (now > entry.localExpireTime) {
+                continue;
+            }
+            try {
+                entries.add(new CacheSnapshot.Entry(e.getKey(), entry.expireTime, mapper.writeValueAsBytes(entry.value)));
+            } catch (IOException ex) {
+                logger.warn("Failed to snapshot cache entry {}:{}: {}", name, e.getKey(), ex.getMessage());
+            }
+        }
+        return entries;
+    }
+    
+    /**
+     * 스냅샷 항목을 남은 TTL 그대로 로컬에 복원 (만료되었거나 이미 값이 있는 키는 건너뜀)
+     */
+    int restoreLocal(List<CacheSnapshot.Entry> entries, ObjectMapper mapper) {
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        for (CacheSnapshot.Entry entry : entries) {
+            if (now > entry.expireTime || local.containsKey(entry.key)) {
+                continue;
+            }
+            try {
+                V value = mapper.readValue(entry.value, valueType);
+                putLocal(entry.key, value, entry.expireTime);
+                restored++;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Failed to restore cache entry {}:{}: {}", name, entry.key, e.getMessage());
+            }
+        }
+        return restored;
+    }
+    
+    /**
+     * 다른 노드에서 값이 바뀌었을 때 로컬 사본만 제거
+     */
+    void invalidateLocal(String key) {
+        local.remove(key);
+    }
+    
+    private void putLocal(String key, V value, long expireTime) {
+        long localExpireTime = remote != null
+                ? Math.min(expireTime, System.currentTimeMillis() + localTtlMillis)
+                : expireTime;
+        local.put(key, new LocalEntry<>(value, expireTime, localExpireTime));
+    }
+    
+    private String remoteKey(String key) {
+        return "deadlock:" + name + ":" + key;
+    }
+    
+    private String leaseKey(String key) {
+        return "deadlock:lease:" + name + ":" + key;
+    }
+}
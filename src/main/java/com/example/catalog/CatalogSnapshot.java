@@ -0,0 +1,154 @@
+package com.example.catalog;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 캐릭터/아이템 카탈로그 스냅샷 (assets.deadlock-api.com 응답 중 필요한 필드만 보관)
+ * 빌드 시 CatalogSnapshotGenerator가 바이너리 리소스로 저장하고, 실행 시 즉시 읽어 들인다.
+ *
+ * 형식: magic(int) version(int) createdAt(long)
+ *       heroCount(int) [id(int) name(UTF) image(UTF)]...
+ *       itemCount(int) [id(long) name(UTF) image(UTF)]...
+ */
+public class CatalogSnapshot {
+
+    public static final String RESOURCE_PATH = "catalog/catalog.bin";
+    public static final String HEROES_URL = "https://assets.deadlock-api.com/v2/heroes?only_active=true";
+    public static final String ITEMS_URL = "https://assets.deadlock-api.com/v2/items";
+
+    private static final int MAGIC = 0x444C4354; // "DLCT"
+    private static final int FORMAT_VERSION = 1;
+
+    /** 캐릭터 항목 */
+    public static class Hero {
+        public final int id;
+        public final String name;
+        public final String image;
+
+        public Hero(int id, String name, String image) {
+            this.id = id;
+            this.name = name;
+            this.image = image;
+        }
+    }
+
+    /** 아이템 항목 */
+    public static class Item {
+        public final long id;
+        public final String name;
+        public final String image;
+
+        public Item(long id, String name, String image) {
+            this.id = id;
+            this.name = name;
+            this.image = image;
+        }
+    }
+
+    private final long createdAt;
+    private final List<Hero> heroes;
+    private final List<Item> items;
+
+    public CatalogSnapshot(long createdAt, List<Hero> heroes, List<Item> items) {
+        this.createdAt = createdAt;
+        this.heroes = heroes;
+        this.items = items;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public List<Hero> getHeroes() {
+        return heroes;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * heroes API 응답 파싱 (id, name, images.selection_image)
+     */
+    public static List<Hero> parseHeroes(JsonNode heroesArray) {
+        List<Hero> heroes = new ArrayList<>();
+        if (heroesArray.isArray()) {
+            for (JsonNode hero : heroesArray) {
+                if (hero.has("id") && hero.has("name")) {
+                    heroes.add(new Hero(hero.get("id").asInt(), hero.get("name").asText(),
+                            hero.path("images").path("selection_image").asText("")));
+                }
+            }
+        }
+        return heroes;
+    }
+
+    /**
+     * items API 응답 파싱 (내부 이름 citadel_* 및 빈 이름 제외)
+     */
+    public static List<Item> parseItems(JsonNode itemsArray) {
+        List<Item> items = new ArrayList<>();
+        if (itemsArray.isArray()) {
+            for (JsonNode item : itemsArray) {
+                if (item.has("id") && item.has("name")) {
+                    String name = item.get("name").asText();
+                    if (!name.startsWith("citadel_") && !name.isEmpty()) {
+                        items.add(new Item(item.get("id").asLong(), name, item.path("image").asText("")));
+                    }
+                }
+            }
+        }
+        return items;
+    }
+
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeLong(createdAt);
+
+        data.writeInt(heroes.size());
+        for (Hero hero : heroes) {
+            data.writeInt(hero.id);
+            data.writeUTF(hero.name);
+            data.writeUTF(hero.image);
+        }
+
+        data.writeInt(items.size());
+        for (Item item : items) {
+            data.writeLong(item.id);
+            data.writeUTF(item.name);
+            data.writeUTF(item.image);
+        }
+        data.flush();
+    }
+
+    public static CatalogSnapshot read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC || data.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported catalog snapshot format");
+        }
+        long createdAt = data.readLong();
+
+        int heroCount = data.readInt();
+        List<Hero> heroes = new ArrayList<>(heroCount);
+        for (int i = 0; i < heroCount; i++) {
+            heroes.add(new Hero(data.readInt(), data.readUTF(), data.readUTF()));
+        }
+
+        int itemCount = data.readInt();
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Item(data.readLong(), data.readUTF(), data.readUTF()));
+        }
+        return new CatalogSnapshot(createdAt, heroes, items);
+    }
+}
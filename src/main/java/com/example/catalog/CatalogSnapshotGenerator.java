@@ -0,0 +1,79 @@
+package com.example.catalog;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * 빌드 단계(prepare-package)에서 실행되어 카탈로그 스냅샷 리소스를 생성
+ * 카탈로그를 받지 못하면 예외로 빌드를 실패시켜 스냅샷 없는 WAR가 조용히 배포되지 않도록 한다.
+ * 오프라인 빌드는 -Dcatalog.snapshot.skip=true로 이 단계를 명시적으로 건너뛴다 (서버는 시작 시 API에서 조회).
+ *
+ * 사용법: CatalogSnapshotGenerator <출력 경로>
+ */
+public class CatalogSnapshotGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotGenerator.class);
+
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get(args.length > 0 ? args[0] : "target/classes/" + CatalogSnapshot.RESOURCE_PATH);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(10000)
+                .setSocketTimeout(30000)
+                .build();
+
+        try (CloseableHttpClient httpClient = HttpClients.custom().setDefaultRequestConfig(requestConfig).build()) {
+            List<CatalogSnapshot.Hero> heroes = CatalogSnapshot.parseHeroes(
+                    objectMapper.readTree(download(httpClient, CatalogSnapshot.HEROES_URL)));
+            List<CatalogSnapshot.Item> items = CatalogSnapshot.parseItems(
+                    objectMapper.readTree(download(httpClient, CatalogSnapshot.ITEMS_URL)));
+
+            if (heroes.isEmpty() || items.isEmpty()) {
+                throw new IOException("Empty catalog response (heroes=" + heroes.size() + ", items=" + items.size() + ")");
+            }
+
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(output.toAbsolutePath().getParent(), "catalog", ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                new CatalogSnapshot(System.currentTimeMillis(), heroes, items).write(out);
+            }
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            logger.info("Wrote {} heroes and {} items to {} ({} bytes)",
+                       heroes.size(), items.size(), output, Files.size(output));
+        }
+    }
+
+    private static String download(CloseableHttpClient httpClient, String url) throws IOException {
+        HttpGet request = new HttpGet(url);
+        request.setHeader("User-Agent", "Mozilla/5.0 (Deadlock-Stats-Tracker/1.0)");
+        request.setHeader("Accept", "application/json");
+
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            String body = EntityUtils.toString(response.getEntity());
+            if (statusCode != 200) {
+                throw new IOException(url + " returned status " + statusCode);
+            }
+            return body;
+        }
+    }
+}
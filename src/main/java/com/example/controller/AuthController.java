@@ -1,5 +1,9 @@
 package com.example.controller;
 
+import com.example.model.SteamId;
+import com.example.service.DeadlockService;
+import com.example.service.PlayerRefreshScheduler;
+import com.example.service.SessionTokenService;
 import com.example.service.SteamService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -9,7 +13,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpServletResponse;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,21 +23,32 @@ public class AuthController {
 
     @Autowired
     private SteamService steamService;
+    
+    @Autowired
+    private DeadlockService deadlockService;
+    
+    @Autowired
+    private PlayerRefreshScheduler playerRefreshScheduler;
+    
+    @Autowired
+    private SessionTokenService sessionTokenService;
 
     @GetMapping("/login")
-    public String login(HttpServletRequest request, HttpSession session, Model model) {
+    public String login(HttpServletRequest request, HttpServletResponse response, Model model) {
         // 사용자의 실제 Steam ID로 로그인
         // TODO: 실제 Steam ID를 입력해주세요 (예: "76561198123456789")
-        String realSteamId = "76561198015042012"; // 실제 Steam ID로 변경 필요
+        SteamId realSteamId = SteamId.parse("76561198015042012"); // 실제 Steam ID로 변경 필요
         
         // Steam API를 통해 실제 사용자 정보 조회
         Map<String, Object> userInfo = steamService.getUserInfo(realSteamId);
         
         if (userInfo != null) {
-            // 세션에 사용자 정보 저장
-            session.setAttribute("user", userInfo);
-            session.setAttribute("steamId", extractShortSteamId(realSteamId)); // 32비트 Steam ID
-            session.setAttribute("isLoggedIn", true);
+            // 로그인 상태 저장 (세션 또는 서명 쿠키)
+            sessionTokenService.login(request, response, realSteamId, userInfo);
+            
+            // 프로필 페이지로 이동하는 동안 매치 데이터 미리 조회
+            deadlockService.prefetchPlayerData(realSteamId);
+            playerRefreshScheduler.recordActivity(realSteamId);
             
             return "redirect:/profile";
         } else {
@@ -43,39 +58,24 @@ public class AuthController {
         }
     }
     
-    /**
-     * 64비트 Steam ID를 32비트로 변환
-     */
-    private String extractShortSteamId(String steamId64) {
-        if (steamId64 != null && steamId64.length() == 17) {
-            try {
-                long id64 = Long.parseLong(steamId64);
-                // Steam ID 64에서 32비트 ID 추출
-                long id32 = id64 - 76561197960265728L;
-                return String.valueOf(id32);
-            } catch (NumberFormatException e) {
-                return null;
-            }
-        }
-        return null;
-    }
-
     @GetMapping("/callback")
     public String callback(@RequestParam Map<String, String> params, 
-                          HttpSession session, Model model) {
+                          HttpServletRequest request, HttpServletResponse response, Model model) {
         
         String openIdIdentity = params.get("openid.identity");
-        String steamId = steamService.extractSteamId(openIdIdentity);
+        SteamId steamId = steamService.extractSteamId(openIdIdentity);
         
-        if (steamId != null && steamService.isValidSteamId(steamId)) {
+        if (steamId != null) {
             // Steam API로 사용자 정보 조회
             Map<String, Object> userInfo = steamService.getUserInfo(steamId);
             
             if (userInfo != null) {
-                // 세션에 사용자 정보 저장
-                session.setAttribute("user", userInfo);
-                session.setAttribute("steamId", steamId);
-                session.setAttribute("isLoggedIn", true);
+                // 로그인 상태 저장 (세션 또는 서명 쿠키)
+                sessionTokenService.login(request, response, steamId, userInfo);
+                
+                // 프로필 페이지로 이동하는 동안 매치 데이터 미리 조회
+                deadlockService.prefetchPlayerData(steamId);
+                playerRefreshScheduler.recordActivity(steamId);
                 
                 return "redirect:/profile";
             }
@@ -87,8 +87,8 @@ public class AuthController {
     }
 
     @GetMapping("/logout")
-    public String logout(HttpSession session) {
-        session.invalidate();
+    public String logout(HttpServletRequest request, HttpServletResponse response) {
+        sessionTokenService.logout(request, response);
         return "redirect:/";
     }
 }
\ No newline at end of file
@@ -4,10 +4,10 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import javax.servlet.http.HttpSession;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -15,12 +15,11 @@ import java.util.Map;
 public class HomeController {
 
     @GetMapping("/")
-    public String home(Model model, HttpSession session,
+    public String home(Model model,
+                      @RequestAttribute(name = "isLoggedIn", required = false) Boolean isLoggedIn,
+                      @RequestAttribute(name = "user", required = false) Map<String, Object> user,
                       @RequestParam(required = false) String error) {
         
-        Boolean isLoggedIn = (Boolean) session.getAttribute("isLoggedIn");
-        Map<String, Object> user = (Map<String, Object>) session.getAttribute("user");
-        
         model.addAttribute("title", "Deadlock Stats Tracker");
         model.addAttribute("message", "Steam 계정으로 로그인하여 Deadlock 게임 통계를 확인하세요!");
         model.addAttribute("isLoggedIn", isLoggedIn != null && isLoggedIn);
@@ -0,0 +1,48 @@
+package com.example.controller;
+
+import com.example.cache.FragmentCache;
+import com.example.model.SteamId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 레코드 하나를 JSON 한 줄로 쓰고 즉시 flush
+ * 클라이언트 연결이 끊겨도 예외를 던지지 않아 서비스 쪽 조회/캐시 저장은 계속 진행됨
+ */
+class MatchNdjsonWriter implements Consumer<Map<String, Object>> {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchNdjsonWriter.class);
+
+    private final FragmentCache fragmentCache;
+    private final SteamId steamId;
+    private final long catalogVersion;
+    private final OutputStream out;
+    private boolean closed;
+
+    MatchNdjsonWriter(FragmentCache fragmentCache, SteamId steamId, long catalogVersion, OutputStream out) {
+        this.fragmentCache = fragmentCache;
+        this.steamId = steamId;
+        this.catalogVersion = catalogVersion;
+        this.out = out;
+    }
+
+    @Override
+    public void accept(Map<String, Object> record) {
+        if (closed) {
+            return;
+        }
+        try {
+            out.write(fragmentCache.getMatchFragment(steamId, catalogVersion, record).getJsonBytes());
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            closed = true;
+            logger.debug("Match stream client disconnected: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.controller;
+
+import com.example.service.DeadlockService;
+import com.example.service.HeroMetaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/api/meta")
+public class MetaController {
+
+    @Autowired
+    private HeroMetaService heroMetaService;
+
+    @Autowired
+    private DeadlockService deadlockService;
+
+    /**
+     * 전체 유저 기준 캐릭터 메타 통계 API (픽률/승률/평균 KDA)
+     * 프로필 조회 중 이미 받은 매치 메타데이터로 집계하므로 추가 업스트림 호출 없음
+     */
+    @GetMapping("/heroes")
+    @ResponseBody
+    public Map<String, Object> getHeroMeta(@RequestParam(defaultValue = "7") int days) {
+        Map<String, Object> meta = heroMetaService.getHeroMeta(days);
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> heroes = (List<Map<String, Object>>) meta.get("heroes");
+        for (Map<String, Object> hero : heroes) {
+            int heroId = (Integer) hero.get("heroId");
+            hero.put("hero", deadlockService.getHeroNameById(heroId));
+            hero.put("heroImage", deadlockService.getHeroImageById(heroId));
+        }
+
+        return meta;
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.controller;
+
+import com.example.cache.FragmentCache;
+import com.example.interceptor.AdmissionControlInterceptor;
+import com.example.interceptor.Degradable;
+import com.example.interceptor.LongRunning;
+import com.example.model.SteamId;
+import com.example.service.DeadlockService;
+import com.example.service.ItemImpactService;
+import com.example.service.MatchDetailService;
+import com.example.service.PlayerRefreshScheduler;
+import com.example.service.PublicProfileService;
+import com.example.service.TrendService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 공개 플레이어 프로필 페이지 및 API (로그인 불필요)
+ * 경로의 Steam ID로 조회하며, 로그인 사용자의 프로필과 같은 플레이어별 공유 캐시를 사용한다.
+ * 방문자와 무관한 응답에는 리버스 프록시용 Cache-Control을 설정하고,
+ * 로그인 정보가 들어가는 페이지는 로그인 방문자에게 private으로 응답한다.
+ * 업스트림 실패나 격리 구획 거부로 빈 결과를 대신 내려줄 때는 공유 캐시에 남지 않도록 no-cache로 응답하며,
+ * 백그라운드 갱신 대상은 실제로 데이터가 적재된 플레이어만 기록한다.
+ */
+@Controller
+@RequestMapping("/players/{steamId:\\d+}")
+public class PlayerController {
+
+    @Autowired
+    private DeadlockService deadlockService;
+
+    @Autowired
+    private PublicProfileService publicProfileService;
+
+    @Autowired
+    private PlayerRefreshScheduler playerRefreshScheduler;
+
+    @Autowired
+    private MatchDetailService matchDetailService;
+
+    @Autowired
+    private ItemImpactService itemImpactService;
+
+    @Autowired
+    private TrendService trendService;
+
+    @Autowired
+    private FragmentCache fragmentCache;
+
+    @GetMapping("")
+    @Degradable
+    public String player(@PathVariable("steamId") String steamIdValue,
+                         @RequestAttribute("isLoggedIn") Boolean isLoggedIn,
+                         @RequestAttribute(name = AdmissionControlInterceptor.DEGRADED, required = false) Boolean degraded,
+                         @RequestParam(defaultValue = "matches") String tab,
+                         Model model,
+                         HttpServletResponse response) throws IOException {
+        SteamId steamId = SteamId.tryParse(steamIdValue);
+        if (steamId == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return null;
+        }
+
+        boolean cachedOnly = Boolean.TRUE.equals(degraded);
+        Map<String, Object> player = publicProfileService.getPlayer(steamId, cachedOnly);
+        // 매치 조회를 기다리지 않고 캐시된 데이터로 바로 렌더링 (매치 목록은 profile.js가 스트리밍으로 채움)
+        Map<String, Object> profileData = deadlockService.getCachedPlayerProfile(steamId);
+        if (cachedOnly) {
+            profileData.put("degraded", true);
+        }
+
+        model.addAttribute("player", player);
+        model.addAttribute("playerSteamId", steamId);
+        model.addAttribute("ownProfile", false);
+        model.addAttribute("apiBase", "/players/" + steamId + "/api");
+        model.addAttribute("profileData", profileData);
+        model.addAttribute("catalogVersion", deadlockService.getCatalogVersion());
+        model.addAttribute("currentTab", tab);
+        model.addAttribute("title", player.get("personaName") + " - Deadlock Profile");
+
+        // 인기 플레이어는 만료 전에 백그라운드로 갱신되도록 활동 기록 (데이터가 적재된 플레이어만)
+        boolean loaded = Boolean.TRUE.equals(profileData.get("cached"));
+        if (loaded) {
+            playerRefreshScheduler.recordActivity(steamId);
+        }
+
+        // 헤더에 로그인 사용자 정보가 들어가므로 로그인 방문자의 페이지는 공유 캐시 금지,
+        // 프로필 정보나 매치 데이터 없이 렌더링한 페이지도 공유 캐시에 남기지 않음
+        if (Boolean.TRUE.equals(isLoggedIn) || cachedOnly || !loaded || publicProfileService.isFallback(player)) {
+            response.setHeader("Cache-Control", "private, no-cache");
+        } else {
+            response.setHeader("Cache-Control", publicProfileService.getCacheControl());
+            response.addHeader("Vary", "Cookie");
+        }
+        return "profile";
+    }
+
+    @GetMapping("/api/matches")
+    @Degradable
+    @ResponseBody
+    public Map<String, Object> getMatches(@PathVariable("steamId") String steamIdValue,
+                                          @RequestAttribute(name = AdmissionControlInterceptor.DEGRADED, required = false) Boolean degraded,
+                                          HttpServletResponse response) {
+        SteamId steamId = SteamId.tryParse(steamIdValue);
+        if (steamId == null) {
+            return invalidSteamId();
+        }
+        if (Boolean.TRUE.equals(degraded)) {
+            response.setHeader("Cache-Control", "no-cache");
+            return fragmentCache.withMatchFragments(steamId, deadlockService.getCatalogVersion(), deadlockService.getCachedPlayerMatches(steamId));
+        }
+        Map<String, Object> matches = deadlockService.getPlayerMatches(steamId);
+        setCacheHeaders(response, steamId, isMatchDataLoaded(steamId));
+        return fragmentCache.withMatchFragments(steamId, deadlockService.getCatalogVersion(), matches);
+    }
+
+    /**
+     * 매치 목록 스트리밍 API (NDJSON, 매치 한 건마다 flush)
+     */
+    @GetMapping("/api/matches/stream")
+    @LongRunning
+    public void streamMatches(@PathVariable("steamId") String steamIdValue,
+                              HttpServletResponse response) throws IOException {
+        SteamId steamId = SteamId.tryParse(steamIdValue);
+        if (steamId == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        // 리버스 프록시(nginx)의 응답 버퍼링 비활성화
+        response.setHeader("X-Accel-Buffering", "no");
+
+        deadlockService.streamPlayerMatches(steamId, new MatchNdjsonWriter(fragmentCache, steamId, deadlockService.getCatalogVersion(), response.getOutputStream()));
+        if (isMatchDataLoaded(steamId)) {
+            playerRefreshScheduler.recordActivity(steamId);
+        }
+    }
+
+    /**
+     * 매치 상세(12명 스코어보드) API - 플레이어와 무관하지만 공개 페이지에서 같은 경로 규칙으로 호출
+     */
+    @GetMapping("/api/matches/{matchId:\\d+}")
+    @ResponseBody
+    public Map<String, Object> getMatchDetail(@PathVariable("matchId") long matchId, HttpServletResponse response) {
+        Map<String, Object> scoreboard = matchDetailService.getScoreboard(matchId);
+        if (scoreboard == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Match not found");
+            return error;
+        }
+        // 플레이어 이름 조회가 실패했으면 account ID로 대신 채운 결과이므로 공유 캐시 금지
+        if (Boolean.TRUE.equals(scoreboard.get("namesResolved"))) {
+            setSharedCacheHeaders(response);
+        } else {
+            response.setHeader("Cache-Control", "no-cache");
+        }
+        return scoreboard;
+    }
+
+    @GetMapping("/api/stats")
+    @Degradable
+    @ResponseBody
+    public Map<String, Object> getStats(@PathVariable("steamId") String steamIdValue,
+                                        @RequestAttribute(name = AdmissionControlInterceptor.DEGRADED, required = false) Boolean degraded,
+                                        HttpServletResponse response) {
+        SteamId steamId = SteamId.tryParse(steamIdValue);
+        if (steamId == null) {
+            return invalidSteamId();
+        }
+        if (Boolean.TRUE.equals(degraded)) {
+            response.setHeader("Cache-Control", "no-cache");
+            return deadlockService.getCachedPlayerStats(steamId);
+        }
+        Map<String, Object> stats = deadlockService.getPlayerStats(steamId);
+        setCacheHeaders(response, steamId, isMatchDataLoaded(steamId));
+        return stats;
+    }
+
+    /**
+     * 추세 API - 일/주 단위 버킷, 최근 window경기 이동 평균, 최근 period일과 그 이전 period일 비교
+     */
+    @GetMapping("/api/stats/trends")
+    @ResponseBody
+    public Map<String, Object> getTrends(@PathVariable("steamId") String steamIdValue,
+                                         @RequestParam(defaultValue = "20") int window,
+                                         @RequestParam(defaultValue = "7") int period,
+                                         @RequestParam(defaultValue = "Asia/Seoul") String tz,
+                                         HttpServletResponse response) {
+        SteamId steamId = SteamId.tryParse(steamIdValue);
+        if (steamId == null) {
+            return invalidSteamId();
+        }
+        ZoneId zone;
+        try {
+            zone = ZoneId.of(tz);
+        } catch (DateTimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid timezone");
+            return error;
+        }
+        Map<String, Object> trends = trendService.getTrends(steamId, Math.max(1, Math.min(window, 200)),
+                                                            Math.max(1, Math.min(period, 365)), zone);
+        if (trends == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Match history unavailable");
+            return error;
+        }
+        setCacheHeaders(response, steamId, true);
+        return trends;
+    }
+
+    /**
+     * 아이템별 보유/미보유 승률 및 아이템 조합 승률 API
+     */
+    @GetMapping("/api/items")
+    @ResponseBody
+    public Map<String, Object> getItemImpact(@PathVariable("steamId") String steamIdValue,
+                                             @RequestParam(defaultValue = "3") int minMatches,
+                                             @RequestParam(defaultValue = "20") int pairs,
+                                             HttpServletResponse response) {
+        SteamId steamId = SteamId.tryParse(steamIdValue);
+        if (steamId == null) {
+            return invalidSteamId();
+        }
+        Map<String, Object> impact = itemImpactService.getItemImpact(steamId, Math.max(1, minMatches), Math.max(0, Math.min(pairs, 100)));
+        // 히스토리 조회에 실패하면 빈 분석 결과
+        setCacheHeaders(response, steamId, (Integer) impact.get("totalMatches") > 0);
+        return impact;
+    }
+
+    /**
+     * 데이터가 실제로 적재된 응답만 공유 캐시를 허용하고 활동을 기록 (실패 대체 결과는 no-cache)
+     */
+    private void setCacheHeaders(HttpServletResponse response, SteamId steamId, boolean loaded) {
+        if (loaded) {
+            playerRefreshScheduler.recordActivity(steamId);
+            setSharedCacheHeaders(response);
+        } else {
+            response.setHeader("Cache-Control", "no-cache");
+        }
+    }
+
+    /**
+     * 매치 데이터가 조회되어 캐시에 있는지 (실패하거나 매치가 없으면 캐시되지 않음)
+     */
+    private boolean isMatchDataLoaded(SteamId steamId) {
+        return deadlockService.getMatchCacheExpireTime(steamId) > System.currentTimeMillis();
+    }
+
+    /**
+     * 방문자와 무관한 API 응답 - 프록시 공유 캐시 허용 (JSON/CBOR 협상 결과가 섞이지 않도록 Accept 기준으로 구분)
+     */
+    private void setSharedCacheHeaders(HttpServletResponse response) {
+        response.setHeader("Cache-Control", publicProfileService.getCacheControl());
+        response.addHeader("Vary", "Accept");
+    }
+
+    private Map<String, Object> invalidSteamId() {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Invalid Steam ID");
+        return error;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.controller;
+
+import com.example.service.PlayerSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/api/players")
+public class PlayerSearchController {
+
+    @Autowired
+    private PlayerSearchService playerSearchService;
+
+    /**
+     * 플레이어 이름 자동 완성 API
+     * 이 서버가 조회한 적 있는 페르소나 이름의 접두어 검색 (Steam ID 입력도 허용)
+     */
+    @GetMapping("/search")
+    @ResponseBody
+    public Map<String, Object> search(@RequestParam("q") String query,
+                                      @RequestParam(defaultValue = "10") int limit) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("query", query);
+        result.put("players", playerSearchService.search(query, Math.max(1, Math.min(limit, 25))));
+        return result;
+    }
+}
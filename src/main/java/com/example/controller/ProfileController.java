@@ -1,51 +1,108 @@
 package com.example.controller;
 
+import com.example.cache.FragmentCache;
+import com.example.interceptor.AdmissionControlInterceptor;
+import com.example.interceptor.Degradable;
+import com.example.interceptor.LongRunning;
 import com.example.service.DeadlockService;
+import com.example.model.PlayerHistory;
+import com.example.model.SteamId;
+import com.example.service.HeadToHeadService;
+import com.example.service.ItemImpactService;
+import com.example.service.MatchDetailService;
+import com.example.service.MatchExportService;
+import com.example.service.PlayerRefreshScheduler;
+import com.example.service.StatsBreakdownService;
 import com.example.service.SteamService;
+import com.example.service.TeammateService;
+import com.example.service.TrendService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @Controller
 @RequestMapping("/profile")
 public class ProfileController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProfileController.class);
+    
     @Autowired
     private DeadlockService deadlockService;
     
     @Autowired
     private SteamService steamService;
+    
+    @Autowired
+    private PlayerRefreshScheduler playerRefreshScheduler;
+    
+    @Autowired
+    private HeadToHeadService headToHeadService;
+    
+    @Autowired
+    private TeammateService teammateService;
+    
+    @Autowired
+    private MatchExportService matchExportService;
+    
+    @Autowired
+    private MatchDetailService matchDetailService;
+    
+    @Autowired
+    private StatsBreakdownService statsBreakdownService;
+    
+    @Autowired
+    private ItemImpactService itemImpactService;
+    
+    @Autowired
+    private TrendService trendService;
+    
+    @Autowired
+    private FragmentCache fragmentCache;
 
     @GetMapping("")
-    public String profile(HttpSession session, Model model,
+    @Degradable
+    public String profile(@RequestAttribute("steamId") SteamId steamId,
+                         @RequestAttribute("user") Map<String, Object> userInfo,
+                         @RequestAttribute(name = AdmissionControlInterceptor.DEGRADED, required = false) Boolean degraded,
+                         Model model,
                          @RequestParam(defaultValue = "matches") String tab) {
         
-        // 로그인 체크
-        Boolean isLoggedIn = (Boolean) session.getAttribute("isLoggedIn");
-        if (isLoggedIn == null || !isLoggedIn) {
-            return "redirect:/auth/steam";
-        }
-        
-        String steamId;
-        Map<String, Object> userInfo;
+        // 로그인 체크는 AuthInterceptor에서 처리
+        playerRefreshScheduler.recordActivity(steamId);
         
-        steamId = (String) session.getAttribute("steamId");
-        userInfo = (Map<String, Object>) session.getAttribute("user");
-        
-        // Deadlock 프로필 데이터 조회
-        Map<String, Object> profileData = deadlockService.getPlayerProfile(steamId);
+        // 매치 조회를 기다리지 않고 캐시된 데이터로 바로 렌더링 (매치 목록은 profile.js가 스트리밍으로 채움)
+        Map<String, Object> profileData = deadlockService.getCachedPlayerProfile(steamId);
+        if (Boolean.TRUE.equals(degraded)) {
+            profileData.put("degraded", true);
+        }
         
-        model.addAttribute("user", userInfo);
-        model.addAttribute("steamId", steamId);
+        model.addAttribute("player", userInfo);
+        model.addAttribute("playerSteamId", steamId);
+        model.addAttribute("ownProfile", true);
+        model.addAttribute("apiBase", "/profile/api");
         model.addAttribute("profileData", profileData);
+        model.addAttribute("catalogVersion", deadlockService.getCatalogVersion());
         model.addAttribute("currentTab", tab);
         model.addAttribute("title", userInfo.get("personaName") + " - Deadlock Profile");
         
@@ -53,38 +110,230 @@ public class ProfileController {
     }
     
     @GetMapping("/api/matches")
+    @Degradable
     @ResponseBody
-    public Map<String, Object> getMatches(HttpSession session,
+    public Map<String, Object> getMatches(@RequestAttribute("steamId") SteamId steamId,
+                                         @RequestAttribute(name = AdmissionControlInterceptor.DEGRADED, required = false) Boolean degraded,
                                          @RequestParam(defaultValue = "0") int page,
                                          @RequestParam(defaultValue = "10") int size) {
         
-        String steamId;
+        playerRefreshScheduler.recordActivity(steamId);
         
-        Boolean isLoggedIn = (Boolean) session.getAttribute("isLoggedIn");
-        if (isLoggedIn == null || !isLoggedIn) {
+        if (Boolean.TRUE.equals(degraded)) {
+            return fragmentCache.withMatchFragments(steamId, deadlockService.getCatalogVersion(), deadlockService.getCachedPlayerMatches(steamId));
+        }
+        return fragmentCache.withMatchFragments(steamId, deadlockService.getCatalogVersion(), deadlockService.getPlayerMatches(steamId));
+    }
+    
+    /**
+     * 매치 상세(12명 스코어보드) API
+     */
+    @GetMapping("/api/matches/{matchId:\\d+}")
+    @ResponseBody
+    public Map<String, Object> getMatchDetail(@PathVariable("matchId") long matchId) {
+        Map<String, Object> scoreboard = matchDetailService.getScoreboard(matchId);
+        if (scoreboard == null) {
             Map<String, Object> error = new HashMap<>();
-            error.put("error", "Not authenticated");
+            error.put("error", "Match not found");
             return error;
         }
-        steamId = (String) session.getAttribute("steamId");
+        return scoreboard;
+    }
+    
+    /**
+     * 매치 목록 스트리밍 API (NDJSON, 매치 한 건마다 flush)
+     */
+    @GetMapping("/api/matches/stream")
+    @LongRunning
+    public void streamMatches(@RequestAttribute("steamId") SteamId steamId,
+                              HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        // 리버스 프록시(nginx)의 응답 버퍼링 비활성화
+        response.setHeader("X-Accel-Buffering", "no");
+        
+        playerRefreshScheduler.recordActivity(steamId);
+        
+        deadlockService.streamPlayerMatches(steamId, new MatchNdjsonWriter(fragmentCache, steamId, deadlockService.getCatalogVersion(), response.getOutputStream()));
+    }
+    
+    /**
+     * 전체 매치 히스토리 내보내기 API (format=csv|ndjson, 클라이언트가 허용하면 gzip 압축)
+     */
+    @GetMapping("/api/export")
+    @LongRunning
+    public void exportMatches(@RequestAttribute("steamId") SteamId steamId,
+                              @RequestParam(defaultValue = "csv") String format,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        boolean csv = !"ndjson".equalsIgnoreCase(format);
+        
+        PlayerHistory history = deadlockService.getPlayerHistory(steamId);
+        if (history == null) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Match history unavailable");
+            return;
+        }
+        
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"deadlock-" + steamId + (csv ? ".csv" : ".ndjson") + "\"");
+        response.setHeader("Vary", "Accept-Encoding");
+        
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+            out = new GZIPOutputStream(out, 8192);
+        }
         
-        return deadlockService.getPlayerMatches(steamId);
+        if (csv) {
+            matchExportService.writeCsv(history, out);
+        } else {
+            matchExportService.writeNdjson(history, out);
+        }
+        
+        if (gzip) {
+            ((GZIPOutputStream) out).finish();
+        }
+        out.flush();
     }
     
     @GetMapping("/api/stats")
+    @Degradable
+    @ResponseBody
+    public Map<String, Object> getStats(@RequestAttribute("steamId") SteamId steamId,
+                                        @RequestAttribute(name = AdmissionControlInterceptor.DEGRADED, required = false) Boolean degraded) {
+        playerRefreshScheduler.recordActivity(steamId);
+        
+        if (Boolean.TRUE.equals(degraded)) {
+            return deadlockService.getCachedPlayerStats(steamId);
+        }
+        return deadlockService.getPlayerStats(steamId);
+    }
+    
+    /**
+     * 차원별 통계 API (dimensions=hero,result,hourOfDay,dayOfWeek,duration,netWorth 중 선택, 생략 시 전체)
+     * 요청한 차원 수와 관계없이 매치 히스토리를 한 번만 순회한다.
+     */
+    @GetMapping("/api/stats/breakdown")
     @ResponseBody
-    public Map<String, Object> getStats(HttpSession session) {
-        String steamId;
+    public Map<String, Object> getStatsBreakdown(@RequestAttribute("steamId") SteamId steamId,
+                                                 @RequestParam(required = false) List<String> dimensions,
+                                                 @RequestParam(defaultValue = "Asia/Seoul") String tz) {
+        Set<StatsBreakdownService.Dimension> requested = EnumSet.noneOf(StatsBreakdownService.Dimension.class);
+        if (dimensions != null) {
+            for (String name : dimensions) {
+                StatsBreakdownService.Dimension dimension = StatsBreakdownService.Dimension.fromKey(name.trim());
+                if (dimension == null) {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("error", "Unknown dimension: " + name);
+                    return error;
+                }
+                requested.add(dimension);
+            }
+        }
         
-        Boolean isLoggedIn = (Boolean) session.getAttribute("isLoggedIn");
-        if (isLoggedIn == null || !isLoggedIn) {
+        ZoneId zone = parseZone(tz);
+        if (zone == null) {
             Map<String, Object> error = new HashMap<>();
-            error.put("error", "Not authenticated");
+            error.put("error", "Invalid timezone");
             return error;
         }
-        steamId = (String) session.getAttribute("steamId");
         
-        return deadlockService.getPlayerStats(steamId);
+        playerRefreshScheduler.recordActivity(steamId);
+        
+        Map<String, Object> breakdown = statsBreakdownService.getBreakdown(steamId, requested, zone);
+        if (breakdown == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Match history unavailable");
+            return error;
+        }
+        return breakdown;
+    }
+    
+    /**
+     * 추세 API - 일/주 단위 버킷, 최근 window경기 이동 평균, 최근 period일과 그 이전 period일 비교
+     */
+    @GetMapping("/api/stats/trends")
+    @ResponseBody
+    public Map<String, Object> getTrends(@RequestAttribute("steamId") SteamId steamId,
+                                         @RequestParam(defaultValue = "20") int window,
+                                         @RequestParam(defaultValue = "7") int period,
+                                         @RequestParam(defaultValue = "Asia/Seoul") String tz) {
+        ZoneId zone = parseZone(tz);
+        if (zone == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid timezone");
+            return error;
+        }
+        
+        playerRefreshScheduler.recordActivity(steamId);
+        
+        Map<String, Object> trends = trendService.getTrends(steamId, Math.max(1, Math.min(window, 200)),
+                                                            Math.max(1, Math.min(period, 365)), zone);
+        if (trends == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Match history unavailable");
+            return error;
+        }
+        return trends;
+    }
+    
+    /**
+     * 시간대 ID 파싱 (잘못된 값이면 null)
+     */
+    private ZoneId parseZone(String tz) {
+        try {
+            return ZoneId.of(tz);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * 다른 플레이어와의 맞대결/협동 전적 비교 API
+     */
+    @GetMapping("/api/compare")
+    @ResponseBody
+    public Map<String, Object> compare(@RequestAttribute("steamId") SteamId steamId,
+                                       @RequestParam("with") String with) {
+        SteamId otherSteamId = SteamId.tryParse(with);
+        if (otherSteamId == null || otherSteamId.equals(steamId)) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid Steam ID");
+            return error;
+        }
+        
+        playerRefreshScheduler.recordActivity(steamId);
+        
+        return headToHeadService.compare(steamId, otherSteamId);
+    }
+    
+    /**
+     * 자주 함께한 팀원 / 자주 만난 상대 API
+     */
+    @GetMapping("/api/teammates")
+    @ResponseBody
+    public Map<String, Object> getTeammates(@RequestAttribute("steamId") SteamId steamId,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        playerRefreshScheduler.recordActivity(steamId);
+        
+        return teammateService.getTeammateReport(steamId, Math.max(1, Math.min(limit, 50)));
+    }
+    
+    /**
+     * 아이템별 보유/미보유 승률 및 아이템 조합 승률 API
+     */
+    @GetMapping("/api/items")
+    @ResponseBody
+    public Map<String, Object> getItemImpact(@RequestAttribute("steamId") SteamId steamId,
+                                             @RequestParam(defaultValue = "3") int minMatches,
+                                             @RequestParam(defaultValue = "20") int pairs) {
+        playerRefreshScheduler.recordActivity(steamId);
+        
+        return itemImpactService.getItemImpact(steamId, Math.max(1, minMatches), Math.max(0, Math.min(pairs, 100)));
     }
     
     /**
@@ -92,19 +341,10 @@ public class ProfileController {
      */
     @GetMapping("/api/matches/daterange")
     @ResponseBody
-    public Map<String, Object> getMatchesByDateRange(HttpSession session,
+    public Map<String, Object> getMatchesByDateRange(@RequestAttribute("steamId") SteamId steamId,
                                                    @RequestParam String startDate,
                                                    @RequestParam String endDate,
                                                    @RequestParam(required = false) String demo) {
-        String steamId;
-        
-        Boolean isLoggedIn = (Boolean) session.getAttribute("isLoggedIn");
-        if (isLoggedIn == null || !isLoggedIn) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("error", "Not authenticated");
-            return error;
-        }
-        steamId = (String) session.getAttribute("steamId");
         
         return deadlockService.getPlayerMatchesWithDateRange(steamId, startDate, endDate);
     }
@@ -114,22 +354,12 @@ public class ProfileController {
      */
     @GetMapping("/api/patch-data")
     @ResponseBody
-    public Map<String, Object> getPatchData(HttpSession session,
+    public Map<String, Object> getPatchData(@RequestAttribute("steamId") SteamId steamId,
                                           @RequestParam(required = false) String patchTab,
                                           @RequestParam(defaultValue = "matches") String tab,
                                           @RequestParam(required = false) String dateRange,
                                           @RequestParam(required = false) String demo) {
         
-        String steamId;
-        
-        Boolean isLoggedIn = (Boolean) session.getAttribute("isLoggedIn");
-        if (isLoggedIn == null || !isLoggedIn) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("error", "Not authenticated");
-            return error;
-        }
-        steamId = (String) session.getAttribute("steamId");
-        
         // 날짜 범위 파싱 (2025-05-08T19:43:20.000Z_2025-08-19T23:59:59.999Z 형식)
         String startDate = null;
         String endDate = null;
@@ -152,7 +382,7 @@ public class ProfileController {
         
         // Deadlock API와 호환되는 응답 형식으로 변환
         Map<String, Object> response = new HashMap<>();
-        response.put("steamId", steamId);
+        response.put("steamId", steamId.toString());
         response.put("tab", tab);
         response.put("patchTab", patchTab != null ? patchTab : "patch");
         response.put("dateRange", dateRange != null ? dateRange : (startDate + "_" + endDate));
@@ -160,4 +390,4 @@ public class ProfileController {
         
         return response;
     }
-}
\ No newline at end of file
+}
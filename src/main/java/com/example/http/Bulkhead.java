@@ -0,0 +1,103 @@
+package com.example.http;
+
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업스트림 의존성 하나의 격리 구획
+ * 전용 커넥션 풀과 동시 요청 수 제한, 대기열 길이 제한을 가지며
+ * 한도를 넘으면 기다리지 않고 BulkheadFullException으로 즉시 실패한다.
+ * 응답 처리(스트리밍 파싱 포함)가 끝나 연결이 반환될 때까지 허가를 유지한다.
+ */
+public class Bulkhead {
+
+    private static final Logger logger = LoggerFactory.getLogger(Bulkhead.class);
+
+    private final String name;
+    private final CloseableHttpClient httpClient;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long queueTimeoutMillis;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    Bulkhead(String name, CloseableHttpClient httpClient, int maxConcurrent, int maxQueue, long queueTimeoutMillis) {
+        this.name = name;
+        this.httpClient = httpClient;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 허가를 얻어 요청을 실행하고 응답을 handler로 처리 (응답은 처리 후 닫힘)
+     */
+    public <T> T execute(HttpUriRequest request, ResponseHandler<T> handler) throws IOException {
+        acquire();
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            return handler.handleResponse(response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    void close() throws IOException {
+        httpClient.close();
+    }
+
+    private void acquire() throws IOException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            throw reject("queue full");
+        }
+        try {
+            if (!permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw reject("queue timeout");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("interrupted");
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private BulkheadFullException reject(String reason) {
+        long count = rejected.incrementAndGet();
+        logger.warn("Bulkhead {} rejected request ({}): active={}, waiting={}, rejectedTotal={}",
+                   name, reason, getActiveCount(), waiting.get(), count);
+        return new BulkheadFullException(name, reason);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.http;
+
+import java.io.IOException;
+
+/**
+ * 격리 구획의 동시 요청/대기열 한도 초과
+ * IOException이므로 기존 업스트림 실패 처리 경로(빈 응답, 캐시된 값 유지)를 그대로 탄다.
+ */
+public class BulkheadFullException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BulkheadFullException(String bulkhead, String reason) {
+        super("Bulkhead " + bulkhead + " rejected request: " + reason);
+    }
+}
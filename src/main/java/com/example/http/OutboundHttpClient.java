@@ -0,0 +1,149 @@
+package com.example.http;
+
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringValueResolver;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업스트림 API 호출용 HTTP 클라이언트 관리
+ * 의존성(Steam 요약, match-history, 매치 메타데이터, 에셋 카탈로그 등)마다 Bulkhead를 하나씩 두어
+ * 커넥션 풀, 동시 요청 수, 대기열을 분리하므로 한 의존성이 느려져도 다른 호출은 영향을 받지 않는다.
+ * 구획별 설정은 http.bulkhead.&lt;이름&gt;.* 이고, 없으면 http.bulkhead.default.* 값을 사용한다.
+ * gzip/deflate 응답 압축 해제, keep-alive 유지 시간, 유휴/만료 연결 정리는 모든 구획에 공통 적용된다.
+ */
+@Component
+public class OutboundHttpClient implements EmbeddedValueResolverAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundHttpClient.class);
+
+    @Value("${http.client.connection.timeout:30000}")
+    private int connectionTimeout;
+
+    @Value("${http.client.socket.timeout:30000}")
+    private int socketTimeout;
+
+    @Value("${http.client.connection.request.timeout:5000}")
+    private int connectionRequestTimeout;
+
+    @Value("${http.client.keepalive.seconds:30}")
+    private int keepAliveSeconds;
+
+    @Value("${http.client.idle.evict.seconds:30}")
+    private int idleEvictSeconds;
+
+    @Value("${http.client.validate.after.inactivity.ms:2000}")
+    private int validateAfterInactivityMs;
+
+    private StringValueResolver valueResolver;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            try {
+                bulkhead.close();
+            } catch (IOException e) {
+                logger.error("Error closing HTTP client for bulkhead " + bulkhead.getName(), e);
+            }
+        }
+        logger.info("OutboundHttpClient closed {} bulkheads", bulkheads.size());
+    }
+
+    /**
+     * 이름별 격리 구획 (처음 요청될 때 설정을 읽어 생성)
+     */
+    public Bulkhead bulkhead(String name) {
+        return bulkheads.computeIfAbsent(name, this::createBulkhead);
+    }
+
+    private Bulkhead createBulkhead(String name) {
+        int maxConnections = intProperty(name, "max.connections", 10);
+        int maxConcurrent = intProperty(name, "max.concurrent", maxConnections);
+        int maxQueue = intProperty(name, "max.queue", maxConcurrent * 2);
+        int queueTimeoutMs = intProperty(name, "queue.timeout.ms", connectionRequestTimeout);
+        int bulkheadSocketTimeout = intProperty(name, "socket.timeout", socketTimeout);
+
+        PoolingHttpClientConnectionManager cm = new PoolingHttpClientConnectionManager();
+        cm.setMaxTotal(maxConnections);
+        cm.setDefaultMaxPerRoute(maxConnections);
+        // 서버가 먼저 닫은 keep-alive 연결을 재사용하기 전에 확인
+        cm.setValidateAfterInactivity(validateAfterInactivityMs);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectionTimeout)
+                .setSocketTimeout(bulkheadSocketTimeout)
+                .setConnectionRequestTimeout(connectionRequestTimeout)
+                .build();
+
+        // 응답 압축(Accept-Encoding: gzip,deflate)과 해제는 HttpClientBuilder 기본 동작으로 처리됨
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(cm)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy())
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEvictSeconds, TimeUnit.SECONDS)
+                .build();
+
+        logger.info("Bulkhead {} initialized: connections={}, concurrent={}, queue={}, queueTimeout={}ms, socketTimeout={}ms",
+                   name, maxConnections, maxConcurrent, maxQueue, queueTimeoutMs, bulkheadSocketTimeout);
+        return new Bulkhead(name, httpClient, maxConcurrent, maxQueue, queueTimeoutMs);
+    }
+
+    /**
+     * http.bulkhead.&lt;이름&gt;.&lt;키&gt; → http.bulkhead.default.&lt;키&gt; → 기본값 순으로 조회
+     */
+    private int intProperty(String name, String key, int defaultValue) {
+        String value = valueResolver.resolveStringValue(
+                "${http.bulkhead." + name + "." + key + ":${http.bulkhead.default." + key + ":" + defaultValue + "}}");
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            logger.warn("Invalid http.bulkhead.{}.{} value '{}', using {}", name, key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * 서버가 Keep-Alive: timeout=N 을 주면 그 값을, 없으면 설정된 기본값을 사용
+     */
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        return (HttpResponse response, HttpContext context) -> {
+            BasicHeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (it.hasNext()) {
+                HeaderElement element = it.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Math.min(Long.parseLong(element.getValue()), keepAliveSeconds) * 1000L;
+                    } catch (NumberFormatException ignored) {
+                        // 잘못된 값은 기본값 사용
+                    }
+                }
+            }
+            return keepAliveSeconds * 1000L;
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.interceptor;
+
+import com.example.service.AdmissionControlService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 과부하 시 요청 수락 제어
+ * 핸들러 메서드별 적응형 한도 안에서만 요청을 처리하고, 한도를 넘으면
+ * &#64;Degradable 핸들러는 캐시 데이터만으로 처리하도록 degraded 표시 후 통과시키고,
+ * 그 외에는 Retry-After와 함께 503으로 즉시 응답한다.
+ * &#64;LongRunning 핸들러는 처리 시간이 길어도 한도를 줄이지 않는다.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    public static final String DEGRADED = "degraded";
+
+    private static final String PERMIT = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    @Autowired
+    private AdmissionControlService admissionControlService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        boolean loggedIn = Boolean.TRUE.equals(request.getAttribute("isLoggedIn"));
+
+        AdmissionControlService.Permit permit = admissionControlService.tryAcquire(endpoint(handlerMethod), loggedIn,
+                !handlerMethod.hasMethodAnnotation(LongRunning.class));
+        if (permit != null) {
+            request.setAttribute(PERMIT, permit);
+            return true;
+        }
+
+        if (handlerMethod.hasMethodAnnotation(Degradable.class)) {
+            request.setAttribute(DEGRADED, true);
+            return true;
+        }
+
+        response.setHeader("Retry-After", String.valueOf(admissionControlService.getRetryAfterSeconds()));
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.contains("/api/")) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setContentType("application/json;charset=UTF-8");
+            response.getWriter().write("{\"error\":\"Server busy, please retry later\"}");
+        } else {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permit = request.getAttribute(PERMIT);
+        if (permit != null) {
+            request.removeAttribute(PERMIT);
+            ((AdmissionControlService.Permit) permit).release(ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    private String endpoint(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.interceptor;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 로그인이 필요한 경로 보호
+ * API 요청에는 JSON 오류를, 페이지 요청에는 로그인 페이지 리다이렉트를 응답한다.
+ */
+public class AuthInterceptor implements HandlerInterceptor {
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute("isLoggedIn"))) {
+            return true;
+        }
+        
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.contains("/api/")) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType("application/json;charset=UTF-8");
+            response.getWriter().write("{\"error\":\"Not authenticated\"}");
+        } else {
+            response.sendRedirect(request.getContextPath() + "/auth/steam");
+        }
+        return false;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.interceptor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 과부하로 수락되지 않은 요청을 503 대신 캐시 데이터만으로 처리할 수 있는 핸들러 표시
+ * 이런 요청에는 request attribute "degraded"가 true로 설정되며, 핸들러는 업스트림을 호출하지 않아야 한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Degradable {
+}
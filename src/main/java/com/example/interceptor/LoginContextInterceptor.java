@@ -0,0 +1,36 @@
+package com.example.interceptor;
+
+import com.example.model.SteamId;
+import com.example.service.SessionTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * 요청마다 로그인 정보를 한 번 조회하여 request attribute로 노출
+ * (steamId, user, isLoggedIn) - 컨트롤러는 세션이나 쿠키를 직접 보지 않는다.
+ * steamId는 여기서 한 번만 파싱하여 SteamId 값으로 전달한다.
+ */
+public class LoginContextInterceptor implements HandlerInterceptor {
+    
+    @Autowired
+    private SessionTokenService sessionTokenService;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Map<String, Object> principal = sessionTokenService.resolve(request);
+        SteamId steamId = principal != null ? SteamId.tryParse(String.valueOf(principal.get("steamId"))) : null;
+        
+        if (steamId != null) {
+            request.setAttribute("steamId", steamId);
+            request.setAttribute("user", principal.get("user"));
+            request.setAttribute("isLoggedIn", true);
+        } else {
+            request.setAttribute("isLoggedIn", false);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.interceptor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 응답 시간이 데이터 양과 클라이언트 속도에 좌우되는 스트리밍/내보내기 핸들러 표시
+ * 동시 처리 한도는 그대로 적용하지만, 처리 시간이 admission.latency.threshold.ms를 넘어도 한도를 줄이지 않는다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LongRunning {
+}
@@ -0,0 +1,164 @@
+package com.example.model;
+
+/**
+ * 매치 메타데이터의 압축 표현
+ * 12명 전체 플레이어 행을 기본형 배열(열 단위)로 보관하여 집계 시 박싱과 JSON 재파싱을 피한다.
+ */
+public class MatchRecord {
+    private long matchId;
+    private long startTime;      // epoch seconds
+    private int durationS;
+    private int winningTeam;     // 0 또는 1, 알 수 없으면 -1
+    
+    private long[] accountIds;   // 32비트 account ID
+    private int[] heroIds;
+    private int[] teams;
+    private int[] kills;
+    private int[] deaths;
+    private int[] assists;
+    private int[] netWorths;
+    private long[][] finalItems; // 플레이어별 최종 아이템 ID (인벤토리 슬롯 순서)
+
+    public MatchRecord() {}
+
+    public MatchRecord(long matchId, long startTime, int durationS, int winningTeam, int playerCount) {
+        this.matchId = matchId;
+        this.startTime = startTime;
+        this.durationS = durationS;
+        this.winningTeam = winningTeam;
+        this.accountIds = new long[playerCount];
+        this.heroIds = new int[playerCount];
+        this.teams = new int[playerCount];
+        this.kills = new int[playerCount];
+        this.deaths = new int[playerCount];
+        this.assists = new int[playerCount];
+        this.netWorths = new int[playerCount];
+        this.finalItems = new long[playerCount][];
+    }
+    
+    public int playerCount() {
+        return accountIds.length;
+    }
+    
+    /**
+     * account ID로 플레이어 행 위치 조회 (없으면 -1)
+     */
+    public int indexOf(long accountId) {
+        for (int i = 0; i < accountIds.length; i++) {
+            if (accountIds[i] == accountId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    public boolean isWinner(int playerIndex) {
+        return winningTeam >= 0 && teams[playerIndex] == winningTeam;
+    }
+
+    public long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(long matchId) {
+        this.matchId = matchId;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public int getDurationS() {
+        return durationS;
+    }
+
+    public void setDurationS(int durationS) {
+        this.durationS = durationS;
+    }
+
+    public int getWinningTeam() {
+        return winningTeam;
+    }
+
+    public void setWinningTeam(int winningTeam) {
+        this.winningTeam = winningTeam;
+    }
+
+    public long[] getAccountIds() {
+        return accountIds;
+    }
+
+    public void setAccountIds(long[] accountIds) {
+        this.accountIds = accountIds;
+    }
+
+    public int[] getHeroIds() {
+        return heroIds;
+    }
+
+    public void setHeroIds(int[] heroIds) {
+        this.heroIds = heroIds;
+    }
+
+    public int[] getTeams() {
+        return teams;
+    }
+
+    public void setTeams(int[] teams) {
+        this.teams = teams;
+    }
+
+    public int[] getKills() {
+        return kills;
+    }
+
+    public void setKills(int[] kills) {
+        this.kills = kills;
+    }
+
+    public int[] getDeaths() {
+        return deaths;
+    }
+
+    public void setDeaths(int[] deaths) {
+        this.deaths = deaths;
+    }
+
+    public int[] getAssists() {
+        return assists;
+    }
+
+    public void setAssists(int[] assists) {
+        this.assists = assists;
+    }
+
+    public int[] getNetWorths() {
+        return netWorths;
+    }
+
+    public void setNetWorths(int[] netWorths) {
+        this.netWorths = netWorths;
+    }
+
+    public long[][] getFinalItems() {
+        return finalItems;
+    }
+
+    public void setFinalItems(long[][] finalItems) {
+        this.finalItems = finalItems;
+    }
+
+    @Override
+    public String toString() {
+        return "MatchRecord{" +
+                "matchId=" + matchId +
+                ", startTime=" + startTime +
+                ", players=" + (accountIds != null ? accountIds.length : 0) +
+                ", winningTeam=" + winningTeam +
+                '}';
+    }
+}
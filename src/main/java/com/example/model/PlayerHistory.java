@@ -0,0 +1,126 @@
+package com.example.model;
+
+import java.util.Arrays;
+
+/**
+ * 플레이어 전체 match-history의 열 단위 표현
+ * match ID 오름차순으로 정렬된 기본형 배열로 보관하여 두 플레이어 간 교집합을 선형 시간에 구한다.
+ */
+public class PlayerHistory {
+    private long[] matchIds;     // 오름차순 정렬
+    private long[] startTimes;   // epoch seconds
+    private int[] durations;     // 초
+    private int[] heroIds;
+    private int[] teams;
+    private int[] kills;
+    private int[] deaths;
+    private int[] assists;
+    private int[] netWorths;
+    private boolean[] wins;
+
+    public PlayerHistory() {}
+
+    public PlayerHistory(int size) {
+        this.matchIds = new long[size];
+        this.startTimes = new long[size];
+        this.durations = new int[size];
+        this.heroIds = new int[size];
+        this.teams = new int[size];
+        this.kills = new int[size];
+        this.deaths = new int[size];
+        this.assists = new int[size];
+        this.netWorths = new int[size];
+        this.wins = new boolean[size];
+    }
+
+    public int size() {
+        return matchIds.length;
+    }
+
+    /**
+     * match ID로 행 위치 조회 (없으면 음수)
+     */
+    public int indexOf(long matchId) {
+        return Arrays.binarySearch(matchIds, matchId);
+    }
+
+    public long[] getMatchIds() {
+        return matchIds;
+    }
+
+    public void setMatchIds(long[] matchIds) {
+        this.matchIds = matchIds;
+    }
+
+    public long[] getStartTimes() {
+        return startTimes;
+    }
+
+    public void setStartTimes(long[] startTimes) {
+        this.startTimes = startTimes;
+    }
+
+    public int[] getDurations() {
+        return durations;
+    }
+
+    public void setDurations(int[] durations) {
+        this.durations = durations;
+    }
+
+    public int[] getHeroIds() {
+        return heroIds;
+    }
+
+    public void setHeroIds(int[] heroIds) {
+        this.heroIds = heroIds;
+    }
+
+    public int[] getTeams() {
+        return teams;
+    }
+
+    public void setTeams(int[] teams) {
+        this.teams = teams;
+    }
+
+    public int[] getKills() {
+        return kills;
+    }
+
+    public void setKills(int[] kills) {
+        this.kills = kills;
+    }
+
+    public int[] getDeaths() {
+        return deaths;
+    }
+
+    public void setDeaths(int[] deaths) {
+        this.deaths = deaths;
+    }
+
+    public int[] getAssists() {
+        return assists;
+    }
+
+    public void setAssists(int[] assists) {
+        this.assists = assists;
+    }
+
+    public int[] getNetWorths() {
+        return netWorths;
+    }
+
+    public void setNetWorths(int[] netWorths) {
+        this.netWorths = netWorths;
+    }
+
+    public boolean[] getWins() {
+        return wins;
+    }
+
+    public void setWins(boolean[] wins) {
+        this.wins = wins;
+    }
+}
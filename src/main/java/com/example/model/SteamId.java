@@ -0,0 +1,96 @@
+package com.example.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.Serializable;
+
+/**
+ * Steam ID 값 타입 - 32비트 account ID를 기본형으로 보관
+ * 64비트 Steam ID("7656119...")와 32비트 account ID 문자열을 모두 받아 요청 진입 시 한 번만 파싱하며,
+ * 이후 비교와 캐시 키는 long 하나로 처리한다.
+ */
+public final class SteamId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final long STEAM_ID64_BASE = 76561197960265728L;
+    private static final long MAX_ACCOUNT_ID = 0xFFFFFFFFL;
+
+    private final long accountId;
+
+    private SteamId(long accountId) {
+        this.accountId = accountId;
+    }
+
+    public static SteamId ofAccountId(long accountId) {
+        if (accountId <= 0 || accountId > MAX_ACCOUNT_ID) {
+            throw new IllegalArgumentException("Invalid account ID: " + accountId);
+        }
+        return new SteamId(accountId);
+    }
+
+    /**
+     * 64비트 Steam ID 또는 32비트 account ID 문자열 파싱 (형식이 잘못되면 IllegalArgumentException)
+     */
+    public static SteamId parse(String value) {
+        SteamId steamId = tryParse(value);
+        if (steamId == null) {
+            throw new IllegalArgumentException("Invalid Steam ID: " + value);
+        }
+        return steamId;
+    }
+
+    /**
+     * parse와 같지만 형식이 잘못되면 null 반환
+     */
+    public static SteamId tryParse(String value) {
+        if (value == null || value.isEmpty() || value.length() > 17) {
+            return null;
+        }
+
+        long number = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+            number = number * 10 + (c - '0');
+        }
+
+        long accountId = number > STEAM_ID64_BASE ? number - STEAM_ID64_BASE : number;
+        if (accountId <= 0 || accountId > MAX_ACCOUNT_ID) {
+            return null;
+        }
+        return new SteamId(accountId);
+    }
+
+    /**
+     * 32비트 account ID (매치 메타데이터의 account_id와 동일)
+     */
+    public long getAccountId() {
+        return accountId;
+    }
+
+    public long getSteamId64() {
+        return accountId + STEAM_ID64_BASE;
+    }
+
+    /**
+     * 64비트 Steam ID 문자열 (Steam API, 화면 표시, 캐시 키에 사용)
+     */
+    @JsonValue
+    @Override
+    public String toString() {
+        return Long.toString(getSteamId64());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof SteamId && ((SteamId) o).accountId == accountId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(accountId);
+    }
+}
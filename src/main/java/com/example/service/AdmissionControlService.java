@@ -0,0 +1,104 @@
+package com.example.service;
+
+import com.example.util.AdaptiveConcurrencyLimit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 엔드포인트별 요청 수락 제어
+ * 엔드포인트마다 적응형 동시 처리 한도를 두고, 한도를 넘는 요청은 거절하여
+ * 과부하 시 모든 요청이 함께 타임아웃되는 대신 한도 안의 요청은 정상 처리되도록 한다.
+ * 비로그인 요청은 한도의 일부(admission.anonymous.share)만 사용할 수 있어 로그인 세션의 API 호출이 우선된다.
+ */
+@Service
+public class AdmissionControlService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlService.class);
+
+    @Value("${admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${admission.initial.limit:20}")
+    private int initialLimit;
+
+    @Value("${admission.min.limit:4}")
+    private int minLimit;
+
+    @Value("${admission.max.limit:200}")
+    private int maxLimit;
+
+    @Value("${admission.backoff.ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${admission.latency.threshold.ms:5000}")
+    private long latencyThresholdMs;
+
+    @Value("${admission.anonymous.share:0.5}")
+    private double anonymousShare;
+
+    @Value("${admission.retry.after.seconds:5}")
+    private int retryAfterSeconds;
+
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /** 수락된 요청의 슬롯 (처리가 끝나면 release 호출) */
+    public static class Permit {
+        private final AdaptiveConcurrencyLimit limit;
+        private final boolean latencySensitive;
+        private final long startNanos = System.nanoTime();
+
+        Permit(AdaptiveConcurrencyLimit limit, boolean latencySensitive) {
+            this.limit = limit;
+            this.latencySensitive = latencySensitive;
+        }
+
+        public void release(boolean failed) {
+            if (limit != null) {
+                // 지연 시간을 보지 않는 요청은 실패 여부로만 한도를 조정
+                limit.release(latencySensitive ? System.nanoTime() - startNanos : 0L, failed);
+            }
+        }
+    }
+
+    private static final Permit UNLIMITED = new Permit(null, false);
+
+    @PostConstruct
+    public void init() {
+        logger.info("AdmissionControlService initialized: enabled={}, limit={} ({}-{}), latencyThreshold={}ms, anonymousShare={}",
+                   enabled, initialLimit, minLimit, maxLimit, latencyThresholdMs, anonymousShare);
+    }
+
+    /**
+     * 엔드포인트 슬롯 획득 (한도 초과면 null)
+     * latencySensitive가 false면 스트리밍/내보내기처럼 오래 걸리는 게 정상인 요청으로 보고 처리 시간으로 한도를 줄이지 않는다.
+     */
+    public Permit tryAcquire(String endpoint, boolean loggedIn, boolean latencySensitive) {
+        if (!enabled) {
+            return UNLIMITED;
+        }
+        AdaptiveConcurrencyLimit limit = limits.computeIfAbsent(endpoint, e -> new AdaptiveConcurrencyLimit(
+                initialLimit, minLimit, maxLimit, backoffRatio, TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs)));
+
+        if (limit.tryAcquire(loggedIn ? 1.0 : anonymousShare)) {
+            return new Permit(limit, latencySensitive);
+        }
+
+        long count = rejected.incrementAndGet();
+        logger.debug("Admission rejected for {} (loggedIn={}): inFlight={}, limit={}, rejectedTotal={}",
+                    endpoint, loggedIn, limit.getInFlight(), limit.getLimit(), count);
+        return null;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,16 +1,24 @@
 package com.example.service;
 
+import com.example.cache.ConditionalResponseCache;
+import com.example.cache.TieredCacheManager;
+import com.example.catalog.CatalogSnapshot;
+import com.example.http.Bulkhead;
+import com.example.http.OutboundHttpClient;
+import com.example.cache.TwoTierCache;
+import com.example.model.MatchRecord;
+import com.example.model.PlayerHistory;
+import com.example.model.SteamId;
+import com.example.util.IndexSort;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
@@ -18,12 +26,27 @@ import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +54,21 @@ public class DeadlockService {
     
     private static final Logger logger = LoggerFactory.getLogger(DeadlockService.class);
     
+    @Autowired
+    private TieredCacheManager cacheManager;
+    
+    @Autowired
+    private HeroMetaService heroMetaService;
+    
+    @Autowired
+    private MatchRecordStore matchRecordStore;
+    
+    @Autowired
+    private ConditionalResponseCache conditionalCache;
+    
+    @Autowired
+    private OutboundHttpClient outboundHttpClient;
+    
     @Value("${deadlock.api.base.url}")
     private String deadlockApiBaseUrl;
     
@@ -43,117 +81,477 @@ public class DeadlockService {
     @Value("${cache.match.data.ttl:180}")
     private int cacheMatchDataTtl;
     
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private CloseableHttpClient httpClient;
-    private final Map<String, CacheEntry> matchCache = new ConcurrentHashMap<>();
-    private final Map<String, CacheEntry> statsCache = new ConcurrentHashMap<>();
+    @Value("${prefetch.executor.threads:4}")
+    private int prefetchThreads;
     
-    private static class CacheEntry {
-        final Object data;
-        final long expireTime;
-        
-        CacheEntry(Object data, long ttlSeconds) {
-            this.data = data;
-            this.expireTime = System.currentTimeMillis() + (ttlSeconds * 1000);
-        }
-        
-        boolean isExpired() {
-            return System.currentTimeMillis() > expireTime;
-        }
-    }
+    @Value("${prefetch.executor.queue.capacity:100}")
+    private int prefetchQueueCapacity;
+    
+    @Value("${catalog.refresh.interval.minutes:360}")
+    private int catalogRefreshIntervalMinutes;
+    
+    @Value("${catalog.refresh.initial.delay.seconds:10}")
+    private int catalogRefreshInitialDelaySeconds;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Bulkhead historyBulkhead;
+    private Bulkhead metadataBulkhead;
+    private Bulkhead assetsBulkhead;
+    private Bulkhead patchDataBulkhead;
+    private ThreadPoolExecutor prefetchExecutor;
+    private ScheduledExecutorService catalogRefresher;
+    private TwoTierCache<Map<String, Object>> matchCache;
+    private TwoTierCache<Map<String, Object>> statsCache;
+    private TwoTierCache<PlayerHistory> historyCache;
+    // 진행 중인 매치 조회 (로그인 프리페치와 프로필 요청이 같은 결과를 공유)
+    private final Map<SteamId, CompletableFuture<Map<String, Object>>> inFlightMatches = new ConcurrentHashMap<>();
     
     @PostConstruct
     public void init() {
-        PoolingHttpClientConnectionManager cm = new PoolingHttpClientConnectionManager();
-        cm.setMaxTotal(50);
-        cm.setDefaultMaxPerRoute(10);
-        
-        RequestConfig requestConfig = RequestConfig.custom()
-                .setConnectTimeout(connectionTimeout)
-                .setSocketTimeout(socketTimeout)
-                .build();
-        
-        this.httpClient = HttpClients.custom()
-                .setConnectionManager(cm)
-                .setDefaultRequestConfig(requestConfig)
-                .build();
+        // 노드 간 공유되는 2단계 캐시 (원격 저장소가 없으면 로컬 캐시로만 동작)
+        this.matchCache = cacheManager.getMapCache("matches");
+        this.statsCache = cacheManager.getMapCache("stats");
+        this.historyCache = cacheManager.getCache("history", PlayerHistory.class);
+        
+        // 업스트림 의존성별 격리 구획 (느린 에셋 API가 프로필 조회를 막지 않도록 풀과 동시 요청 수를 분리)
+        this.historyBulkhead = outboundHttpClient.bulkhead("match-history");
+        this.metadataBulkhead = outboundHttpClient.bulkhead("match-metadata");
+        this.assetsBulkhead = outboundHttpClient.bulkhead("assets");
+        this.patchDataBulkhead = outboundHttpClient.bulkhead("patch-data");
+        
+        AtomicInteger threadCount = new AtomicInteger();
+        this.prefetchExecutor = new ThreadPoolExecutor(prefetchThreads, prefetchThreads,
+                60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(prefetchQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "deadlock-prefetch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.prefetchExecutor.allowCoreThreadTimeOut(true);
+        
+        // 빌드 시 생성된 카탈로그 스냅샷을 먼저 적재하고, 최신 카탈로그는 백그라운드에서 갱신
+        loadCatalogSnapshot();
+        this.catalogRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deadlock-catalog-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        catalogRefresher.scheduleWithFixedDelay(this::refreshCatalogFromAPI,
+                catalogRefreshInitialDelaySeconds, catalogRefreshIntervalMinutes * 60L, TimeUnit.SECONDS);
         
-        logger.info("DeadlockService initialized with HTTP client");
+        logger.info("DeadlockService initialized with shared HTTP client and prefetch executor: threads={}, queue={}",
+                   prefetchThreads, prefetchQueueCapacity);
     }
     
     @PreDestroy
     public void destroy() {
-        if (httpClient != null) {
-            try {
-                httpClient.close();
-                logger.info("DeadlockService HTTP client closed");
-            } catch (IOException e) {
-                logger.error("Error closing HTTP client", e);
-            }
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+        }
+        if (catalogRefresher != null) {
+            catalogRefresher.shutdownNow();
         }
     }
     
     /**
      * 플레이어 매치 데이터 조회 (캐시 지원)
+     * 프리페치가 진행 중이면 새로 요청하지 않고 그 결과를 기다린다.
      */
     @SuppressWarnings("unchecked")
-    public Map<String, Object> getPlayerMatches(String steamId) {
-        if (steamId == null || steamId.trim().isEmpty()) {
+    public Map<String, Object> getPlayerMatches(SteamId steamId) {
+        if (steamId == null) {
             logger.warn("Invalid Steam ID provided for match data: {}", steamId);
             return createEmptyResponse();
         }
         
-        // 캐시 확인 (API가 불안정하므로 캐시 사용 중단)
-        // CacheEntry cached = matchCache.get(steamId);
-        // if (cached != null && !cached.isExpired()) {
-        //     logger.debug("Cache hit for match data: {}", steamId);
-        //     return (Map<String, Object>) cached.data;
-        // }
+        // 캐시 확인 (성공한 응답만 캐시되므로 API 오류가 고정되지 않음)
+        Map<String, Object> cached = matchCache.get(steamId.toString());
+        if (cached != null) {
+            logger.debug("Cache hit for match data: {}", steamId);
+            return cached;
+        }
         
-        // 실제 Deadlock JSON API 사용 - 2단계 프로세스
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> existing = inFlightMatches.putIfAbsent(steamId, future);
+        if (existing != null) {
+            // 이미 진행 중인 조회(프리페치 등)에 합류
+            return awaitInFlightMatches(steamId, existing);
+        }
+        
+        completeMatchLoad(steamId, future, null);
+        return future.join();
+    }
+    
+    /**
+     * 플레이어 매치 데이터를 파싱되는 즉시 한 건씩 전달 (스트리밍 응답용)
+     * 캐시나 진행 중인 조회가 있으면 그 결과를 순서대로 전달한다.
+     * 업스트림 조회는 프리페치 풀에서 실행하고 파싱된 매치는 큐로 넘겨 호출 스레드에서 listener에 전달하므로,
+     * 느린 클라이언트가 메타데이터 격리 구획의 허용량과 업스트림 연결을 붙잡지 않는다.
+     */
+    @SuppressWarnings("unchecked")
+    public void streamPlayerMatches(SteamId steamId, Consumer<Map<String, Object>> listener) {
+        if (steamId == null) {
+            logger.warn("Invalid Steam ID provided for match stream: {}", steamId);
+            return;
+        }
+        
+        Map<String, Object> cached = matchCache.get(steamId.toString());
+        if (cached != null) {
+            ((List<Map<String, Object>>) cached.get("matches")).forEach(listener);
+            return;
+        }
+        
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> existing = inFlightMatches.putIfAbsent(steamId, future);
+        if (existing != null) {
+            ((List<Map<String, Object>>) awaitInFlightMatches(steamId, existing).get("matches")).forEach(listener);
+            return;
+        }
+        
+        // 한 번에 최대 20건만 조회하므로 큐는 사실상 제한되며, 업스트림 쪽은 offer만 하고 기다리지 않음
+        BlockingQueue<Map<String, Object>> parsed = new LinkedBlockingQueue<>();
         try {
-            // Step 1: 매치 히스토리 가져오기
-            String matchHistoryUrl = String.format("https://api.deadlock-api.com/v1/players/%s/match-history", steamId);
-            logger.info("Fetching match history from: {}", matchHistoryUrl);
-            
-            HttpGet historyRequest = new HttpGet(matchHistoryUrl);
-            historyRequest.setHeader("User-Agent", "Mozilla/5.0 (Deadlock-Stats-Tracker/1.0)");
-            historyRequest.setHeader("Accept", "application/json");
-            
-            String historyResponse;
-            try (CloseableHttpResponse response = httpClient.execute(historyRequest)) {
-                int statusCode = response.getStatusLine().getStatusCode();
-                historyResponse = EntityUtils.toString(response.getEntity());
-                
-                if (statusCode != 200) {
-                    logger.warn("Match history API returned status: {} for Steam ID: {}", statusCode, steamId);
-                    return createEmptyResponse();
+            prefetchExecutor.execute(() -> completeMatchLoad(steamId, future, parsed::offer));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Prefetch pool busy, loading match stream inline for Steam ID: {}", steamId);
+            completeMatchLoad(steamId, future, parsed::offer);
+        }
+        
+        try {
+            while (true) {
+                Map<String, Object> match = parsed.poll(100, TimeUnit.MILLISECONDS);
+                if (match != null) {
+                    listener.accept(match);
+                } else if (future.isDone()) {
+                    // 완료 전에 모두 넣었으므로 남은 항목만 전달하면 끝
+                    while ((match = parsed.poll()) != null) {
+                        listener.accept(match);
+                    }
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private Map<String, Object> awaitInFlightMatches(SteamId steamId, CompletableFuture<Map<String, Object>> inFlight) {
+        try {
+            logger.debug("Joining in-flight match load for Steam ID: {}", steamId);
+            return inFlight.get(connectionTimeout + 2L * socketTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return createEmptyResponse();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("In-flight match load failed for Steam ID: {}, fetching directly", steamId);
+            return fetchPlayerMatches(steamId, null);
+        }
+    }
+    
+    /**
+     * 로그인 직후 매치 히스토리/메타데이터/통계를 백그라운드에서 미리 조회
+     */
+    public void prefetchPlayerData(SteamId steamId) {
+        if (steamId == null) {
+            return;
+        }
+        
+        if (matchCache.get(steamId.toString()) != null) {
+            logger.debug("Prefetch skipped, match data already cached: {}", steamId);
+            return;
+        }
+        
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        if (inFlightMatches.putIfAbsent(steamId, future) != null) {
+            logger.debug("Prefetch skipped, match load already in flight: {}", steamId);
+            return;
+        }
+        
+        try {
+            prefetchExecutor.execute(() -> completeMatchLoad(steamId, future, null));
+            logger.info("Scheduled profile prefetch for Steam ID: {}", steamId);
+        } catch (RejectedExecutionException e) {
+            // 큐가 가득 차면 프리페치를 포기하고 프로필 요청에서 직접 조회
+            inFlightMatches.remove(steamId, future);
+            future.completeExceptionally(e);
+            logger.warn("Prefetch queue full, skipping prefetch for Steam ID: {}", steamId);
+        }
+    }
+    
+    /**
+     * 캐시 만료 여부와 관계없이 매치 데이터를 다시 조회 (백그라운드 갱신용)
+     * 같은 플레이어의 조회가 이미 진행 중이면 false 반환
+     */
+    public boolean refreshPlayerData(SteamId steamId) {
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        if (inFlightMatches.putIfAbsent(steamId, future) != null) {
+            return false;
+        }
+        completeMatchLoad(steamId, future, null);
+        return true;
+    }
+    
+    /**
+     * 캐시된 매치 데이터의 만료 시각 (캐시가 없으면 0)
+     */
+    public long getMatchCacheExpireTime(SteamId steamId) {
+        return matchCache.getExpireTime(steamId.toString());
+    }
+    
+    /**
+     * 매치 데이터를 조회하여 캐시에 저장하고 대기 중인 요청들에 결과 전달
+     */
+    @SuppressWarnings("unchecked")
+    private void completeMatchLoad(SteamId steamId, CompletableFuture<Map<String, Object>> future,
+                                   Consumer<Map<String, Object>> listener) {
+        // 다른 노드가 같은 플레이어를 조회 중이면 그 결과가 원격 캐시에 저장되기를 기다림 (클러스터 단위 중복 제거)
+        long leaseMillis = connectionTimeout + 2L * socketTimeout;
+        boolean leased = matchCache.tryAcquireLoad(steamId.toString(), leaseMillis);
+        try {
+            if (!leased) {
+                Map<String, Object> loaded = matchCache.awaitLoad(steamId.toString(), leaseMillis);
+                if (loaded != null) {
+                    logger.debug("Using match data loaded by another node for Steam ID: {}", steamId);
+                    if (listener != null) {
+                        ((List<Map<String, Object>>) loaded.get("matches")).forEach(listener);
+                    }
+                    future.complete(loaded);
+                    return;
                 }
             }
             
-            // 매치 히스토리 파싱하여 매치 ID들 추출
-            logger.info("History response length: {}", historyResponse.length());
-            logger.info("First 500 chars of history response: {}", historyResponse.substring(0, Math.min(500, historyResponse.length())));
+            Map<String, Object> result = fetchPlayerMatches(steamId, listener);
+            Object totalMatches = result.get("totalMatches");
+            if (totalMatches instanceof Integer && (Integer) totalMatches > 0) {
+                matchCache.put(steamId.toString(), result, cacheMatchDataTtl);
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> matches = (List<Map<String, Object>>) result.get("matches");
+                statsCache.put(steamId.toString(), calculateStatsFromMatches(matches), cacheMatchDataTtl);
+            }
+            future.complete(result);
+        } catch (RuntimeException e) {
+            logger.error("Error loading match data for Steam ID: " + steamId, e);
+            future.complete(createEmptyResponse());
+        } finally {
+            if (leased) {
+                matchCache.releaseLoad(steamId.toString());
+            }
+            inFlightMatches.remove(steamId, future);
+        }
+    }
+    
+    /**
+     * 플레이어 전체 match-history (match ID 정렬 기본형 배열, 캐시 지원)
+     * 매치 조회 시 함께 캐시되므로 보통 추가 요청 없이 반환된다. 조회 실패 시 null
+     */
+    public PlayerHistory getPlayerHistory(SteamId steamId) {
+        if (steamId == null) {
+            return null;
+        }
+        
+        PlayerHistory cached = historyCache.get(steamId.toString());
+        if (cached != null) {
+            return cached;
+        }
+        
+        try {
+            PlayerHistory history = fetchMatchHistory(steamId);
+            if (history == null) {
+                return null;
+            }
+            historyCache.put(steamId.toString(), history, cacheMatchDataTtl);
+            return history;
+        } catch (IOException e) {
+            logger.error("Error fetching match history for Steam ID: " + steamId, e);
+            return null;
+        }
+    }
+    
+    /**
+     * match-history API 호출 (매치가 없거나 실패하면 null)
+     * 조건부 요청 저장소에는 JSON 트리가 아닌 압축된 PlayerHistory를 보관한다.
+     */
+    private PlayerHistory fetchMatchHistory(SteamId steamId) throws IOException {
+        String matchHistoryUrl = String.format("https://api.deadlock-api.com/v1/players/%d/match-history", steamId.getAccountId());
+        logger.info("Fetching match history from: {}", matchHistoryUrl);
+        
+        HttpGet historyRequest = new HttpGet(matchHistoryUrl);
+        historyRequest.setHeader("User-Agent", "Mozilla/5.0 (Deadlock-Stats-Tracker/1.0)");
+        historyRequest.setHeader("Accept", "application/json");
+        
+        // 새 매치가 없으면 304로 응답되어 이전에 파싱한 히스토리를 그대로 사용
+        PlayerHistory history = conditionalCache.execute(historyBulkhead, historyRequest, entity -> {
+            try (InputStream content = entity.getContent()) {
+                return readPlayerHistory(content);
+            }
+        });
+        if (history == null) {
+            logger.warn("Match history API request failed for Steam ID: {}", steamId);
+            return null;
+        }
+        logger.info("Match history size: {}", history.size());
+        
+        if (history.size() == 0) {
+            logger.warn("No matches found for Steam ID: {}", steamId);
+            return null;
+        }
+        
+        return history;
+    }
+    
+    /**
+     * match-history 응답 배열 → match ID 오름차순 PlayerHistory (배열이 아니면 null)
+     * JSON 트리나 행 객체를 만들지 않고 토큰 단위로 읽어 열 배열에 바로 채운다.
+     * 파싱 중 메모리는 매치당 기본형 필드(약 45바이트)의 적재용 배열(최대 2배 용량)과 정렬 결과 한 벌,
+     * 그리고 int 순서 배열 두 개(박싱 없음) 정도다.
+     */
+    private PlayerHistory readPlayerHistory(InputStream content) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(content)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return null;
+            }
             
-            JsonNode historyArray = objectMapper.readTree(historyResponse);
-            logger.info("Parsed JSON - isArray: {}, size: {}", historyArray.isArray(), historyArray.size());
+            PlayerHistory rows = new PlayerHistory(256);
+            int count = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (count == rows.size()) {
+                    rows = growRows(rows, count * 2);
+                }
+                if (readHistoryRow(parser, rows, count)) {
+                    count++;
+                }
+            }
             
-            if (!historyArray.isArray() || historyArray.size() == 0) {
-                logger.warn("No matches found for Steam ID: {} - isArray: {}, size: {}", steamId, historyArray.isArray(), historyArray.size());
+            // 업스트림은 최신 순으로 주므로 뒤집은 순서에서 시작하면 보통 정렬 없이 match ID 오름차순이 됨
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = count - 1 - i;
+            }
+            IndexSort.sortByKey(order, rows.getMatchIds());
+            return copyRows(rows, order, count);
+        }
+    }
+    
+    /**
+     * match-history 객체 하나를 row 위치에 기록 (match_id가 없으면 false)
+     */
+    private boolean readHistoryRow(JsonParser parser, PlayerHistory rows, int row) throws IOException {
+        boolean hasMatchId = false;
+        rows.getStartTimes()[row] = 0L;
+        rows.getDurations()[row] = 0;
+        rows.getHeroIds()[row] = 0;
+        rows.getTeams()[row] = -1;
+        rows.getKills()[row] = 0;
+        rows.getDeaths()[row] = 0;
+        rows.getAssists()[row] = 0;
+        rows.getNetWorths()[row] = 0;
+        rows.getWins()[row] = false;
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "match_id":
+                    rows.getMatchIds()[row] = parser.getValueAsLong();
+                    hasMatchId = value != JsonToken.VALUE_NULL;
+                    break;
+                case "start_time":
+                    rows.getStartTimes()[row] = parser.getValueAsLong();
+                    break;
+                case "match_duration_s":
+                    rows.getDurations()[row] = parser.getValueAsInt();
+                    break;
+                case "hero_id":
+                    rows.getHeroIds()[row] = parser.getValueAsInt();
+                    break;
+                case "player_team":
+                    rows.getTeams()[row] = value.isNumeric() ? parser.getIntValue() : parseTeam(parser.getText());
+                    break;
+                case "player_kills":
+                    rows.getKills()[row] = parser.getValueAsInt();
+                    break;
+                case "player_deaths":
+                    rows.getDeaths()[row] = parser.getValueAsInt();
+                    break;
+                case "player_assists":
+                    rows.getAssists()[row] = parser.getValueAsInt();
+                    break;
+                case "net_worth":
+                    rows.getNetWorths()[row] = parser.getValueAsInt();
+                    break;
+                case "match_result":
+                    // 승패 판정은 parseMatchMetadataWithHistory와 동일한 기준 사용
+                    rows.getWins()[row] = parser.getValueAsInt() == 1;
+                    break;
+                default:
+                    break;
+            }
+            parser.skipChildren();
+        }
+        return hasMatchId;
+    }
+    
+    /**
+     * 적재용 열 배열을 size 크기로 확장 (기존 행은 위치 그대로 유지)
+     */
+    private static PlayerHistory growRows(PlayerHistory source, int size) {
+        PlayerHistory target = new PlayerHistory();
+        target.setMatchIds(Arrays.copyOf(source.getMatchIds(), size));
+        target.setStartTimes(Arrays.copyOf(source.getStartTimes(), size));
+        target.setDurations(Arrays.copyOf(source.getDurations(), size));
+        target.setHeroIds(Arrays.copyOf(source.getHeroIds(), size));
+        target.setTeams(Arrays.copyOf(source.getTeams(), size));
+        target.setKills(Arrays.copyOf(source.getKills(), size));
+        target.setDeaths(Arrays.copyOf(source.getDeaths(), size));
+        target.setAssists(Arrays.copyOf(source.getAssists(), size));
+        target.setNetWorths(Arrays.copyOf(source.getNetWorths(), size));
+        target.setWins(Arrays.copyOf(source.getWins(), size));
+        return target;
+    }
+    
+    /**
+     * order 순서의 행을 size 크기의 새 PlayerHistory로 복사
+     */
+    private static PlayerHistory copyRows(PlayerHistory source, int[] order, int size) {
+        PlayerHistory target = new PlayerHistory(size);
+        for (int i = 0; i < order.length; i++) {
+            int from = order[i];
+            target.getMatchIds()[i] = source.getMatchIds()[from];
+            target.getStartTimes()[i] = source.getStartTimes()[from];
+            target.getDurations()[i] = source.getDurations()[from];
+            target.getHeroIds()[i] = source.getHeroIds()[from];
+            target.getTeams()[i] = source.getTeams()[from];
+            target.getKills()[i] = source.getKills()[from];
+            target.getDeaths()[i] = source.getDeaths()[from];
+            target.getAssists()[i] = source.getAssists()[from];
+            target.getNetWorths()[i] = source.getNetWorths()[from];
+            target.getWins()[i] = source.getWins()[from];
+        }
+        return target;
+    }
+    
+    /**
+     * Deadlock API에서 매치 데이터 조회 (캐시 미사용)
+     */
+    private Map<String, Object> fetchPlayerMatches(SteamId steamId, Consumer<Map<String, Object>> listener) {
+        // 실제 Deadlock JSON API 사용 - 2단계 프로세스
+        try {
+            // Step 1: 매치 히스토리 가져오기
+            PlayerHistory history = fetchMatchHistory(steamId);
+            if (history == null) {
                 return createEmptyResponse();
             }
+            // 전체 히스토리는 비교/분석 기능에서 재사용
+            historyCache.put(steamId.toString(), history, cacheMatchDataTtl);
             
-            // Step 2: 상세 매치 데이터 가져오기 (최근 20개만)
+            // Step 2: 상세 매치 데이터 가져오기 (최근 20개만, match ID 오름차순이므로 끝에서부터)
             List<String> matchIds = new ArrayList<>();
-            logger.info("Processing match history with {} total matches", historyArray.size());
+            logger.info("Processing match history with {} total matches", history.size());
             
-            for (int i = 0; i < Math.min(20, historyArray.size()); i++) {
-                JsonNode match = historyArray.get(i);
-                if (match.has("match_id")) {
-                    String matchId = match.get("match_id").asText();
-                    matchIds.add(matchId);
-                    logger.info("Added match ID {}: {}", i+1, matchId);
-                }
+            for (int i = history.size() - 1; i >= 0 && matchIds.size() < 20; i--) {
+                String matchId = Long.toString(history.getMatchIds()[i]);
+                matchIds.add(matchId);
+                logger.info("Added match ID {}: {}", matchIds.size(), matchId);
             }
             
             if (matchIds.isEmpty()) {
@@ -173,16 +571,16 @@ public class DeadlockService {
             metadataRequest.setHeader("User-Agent", "Mozilla/5.0 (Deadlock-Stats-Tracker/1.0)");
             metadataRequest.setHeader("Accept", "application/json");
             
-            try (CloseableHttpResponse response = httpClient.execute(metadataRequest)) {
+            return metadataBulkhead.execute(metadataRequest, response -> {
                 int statusCode = response.getStatusLine().getStatusCode();
-                String metadataResponse = EntityUtils.toString(response.getEntity());
                 
                 if (statusCode == 200) {
-                    logger.info("Metadata API response: {}", metadataResponse.substring(0, Math.min(500, metadataResponse.length())));
-                    JsonNode metadataRoot = objectMapper.readTree(metadataResponse);
-                    
+                    // 응답 전체를 문자열로 읽지 않고 매치 단위로 파싱하여 바로 전달
                     Map<String, Object> result = new HashMap<>();
-                    List<Map<String, Object>> parsedMatches = parseDeadlockMetadataResponseWithOrder(metadataRoot, historyArray, steamId);
+                    List<Map<String, Object>> parsedMatches;
+                    try (InputStream content = response.getEntity().getContent()) {
+                        parsedMatches = parseDeadlockMetadataStreamWithOrder(content, history, steamId, listener);
+                    }
                     
                     result.put("matches", parsedMatches);
                     result.put("totalMatches", parsedMatches.size());
@@ -190,10 +588,11 @@ public class DeadlockService {
                     logger.info("Successfully fetched {} matches for Steam ID: {}", parsedMatches.size(), steamId);
                     return result;
                 } else {
+                    EntityUtils.consume(response.getEntity());
                     logger.warn("Match metadata API returned status: {} for Steam ID: {}", statusCode, steamId);
                     return createEmptyResponse();
                 }
-            }
+            });
             
         } catch (IOException e) {
             logger.error("Error fetching match data from Deadlock API for Steam ID: " + steamId, e);
@@ -205,8 +604,8 @@ public class DeadlockService {
      * 날짜 범위별 플레이어 매치 데이터 조회
      */
     @SuppressWarnings("unchecked")
-    public Map<String, Object> getPlayerMatchesWithDateRange(String steamId, String startDate, String endDate) {
-        if (steamId == null || steamId.trim().isEmpty()) {
+    public Map<String, Object> getPlayerMatchesWithDateRange(SteamId steamId, String startDate, String endDate) {
+        if (steamId == null) {
             logger.warn("Invalid Steam ID provided for match data: {}", steamId);
             return createEmptyResponse();
         }
@@ -230,7 +629,7 @@ public class DeadlockService {
     /**
      * 패치별 플레이어 데이터 조회 (패치 날짜 기반)
      */
-    public Map<String, Object> getPlayerDataByPatch(String steamId, String patchStartDate, String patchEndDate) {
+    public Map<String, Object> getPlayerDataByPatch(SteamId steamId, String patchStartDate, String patchEndDate) {
         logger.info("Fetching player data for Steam ID: {} from {} to {}", steamId, patchStartDate, patchEndDate);
         
         // 실제 Deadlock API 호출 - 날짜 범위 포함
@@ -245,7 +644,7 @@ public class DeadlockService {
             request.setHeader("User-Agent", "Mozilla/5.0 (Deadlock-Stats-Tracker/1.0)");
             request.setHeader("Accept", "application/json");
             
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
+            return patchDataBulkhead.execute(request, response -> {
                 int statusCode = response.getStatusLine().getStatusCode();
                 String jsonResponse = EntityUtils.toString(response.getEntity());
                 
@@ -284,7 +683,7 @@ public class DeadlockService {
                 }
                 
                 return result;
-            }
+            });
         } catch (IOException e) {
             logger.error("Error fetching patch data from Deadlock API", e);
             
@@ -301,8 +700,13 @@ public class DeadlockService {
     /**
      * 플레이어 통계 정보 조회
      */
-    public Map<String, Object> getPlayerStats(String steamId) {
+    public Map<String, Object> getPlayerStats(SteamId steamId) {
         // 현재 API가 사용 불가능하므로 매치 데이터 기반으로 통계 생성
+        Map<String, Object> cachedStats = statsCache.get(steamId.toString());
+        if (cachedStats != null) {
+            return cachedStats;
+        }
+        
         logger.info("Generating stats from match data for Steam ID: {}", steamId);
         
         try {
@@ -319,7 +723,7 @@ public class DeadlockService {
     /**
      * 플레이어 프로필 정보 조회
      */
-    public Map<String, Object> getPlayerProfile(String steamId) {
+    public Map<String, Object> getPlayerProfile(SteamId steamId) {
         Map<String, Object> profile = new HashMap<>();
         
         // 기본 통계 정보
@@ -336,6 +740,43 @@ public class DeadlockService {
         return profile;
     }
     
+    /**
+     * 캐시된 데이터만으로 만든 프로필 (업스트림 조회 없이 응답, 없는 항목은 빈 값)
+     * 프로필 페이지는 이것으로 바로 렌더링하고 매치 목록은 브라우저가 스트리밍 API로 받는다.
+     * cached는 매치 데이터가 캐시에 있었는지 여부
+     */
+    public Map<String, Object> getCachedPlayerProfile(SteamId steamId) {
+        Map<String, Object> cachedStats = statsCache.get(steamId.toString());
+        Map<String, Object> profile = new HashMap<>(cachedStats != null ? cachedStats : createEmptyStats());
+        
+        Map<String, Object> cachedMatches = matchCache.get(steamId.toString());
+        Map<String, Object> matchData = cachedMatches != null ? cachedMatches : createEmptyResponse();
+        profile.put("recentMatches", matchData.get("matches"));
+        profile.put("totalMatches", matchData.get("totalMatches"));
+        profile.put("cached", cachedMatches != null);
+        return profile;
+    }
+    
+    /**
+     * 캐시된 매치 데이터 (없으면 빈 응답, 업스트림 조회 없음)
+     */
+    public Map<String, Object> getCachedPlayerMatches(SteamId steamId) {
+        Map<String, Object> cached = matchCache.get(steamId.toString());
+        Map<String, Object> result = cached != null ? new HashMap<>(cached) : createEmptyResponse();
+        result.put("degraded", true);
+        return result;
+    }
+    
+    /**
+     * 캐시된 통계 (없으면 빈 통계, 업스트림 조회 없음)
+     */
+    public Map<String, Object> getCachedPlayerStats(SteamId steamId) {
+        Map<String, Object> cached = statsCache.get(steamId.toString());
+        Map<String, Object> result = cached != null ? new HashMap<>(cached) : createEmptyStats();
+        result.put("degraded", true);
+        return result;
+    }
+    
     private List<Map<String, Object>> parseDeadlockMatches(JsonNode matchesNode) {
         List<Map<String, Object>> matches = new ArrayList<>();
         
@@ -361,47 +802,57 @@ public class DeadlockService {
     }
 
     /**
-     * match-history 순서를 유지하면서 메타데이터 파싱
+     * 메타데이터 응답 배열을 매치 단위로 스트리밍 파싱
+     * 파싱된 매치는 즉시 listener에 전달하고, 반환 목록은 최신 순(match ID 내림차순)으로 정렬
+     * 격리 구획 허용량을 잡은 채 호출되므로 listener는 클라이언트 I/O 없이 바로 반환해야 한다.
      */
-    private List<Map<String, Object>> parseDeadlockMetadataResponseWithOrder(JsonNode metadataRoot, JsonNode historyArray, String targetSteamId) {
-        List<Map<String, Object>> matches = new ArrayList<>();
-        
-        try {
-            // 메타데이터를 match_id로 매핑
-            Map<String, JsonNode> metadataMap = new HashMap<>();
-            if (metadataRoot.isArray()) {
-                for (JsonNode metadata : metadataRoot) {
-                    String matchId = metadata.get("match_id").asText();
-                    metadataMap.put(matchId, metadata);
-                }
+    private List<Map<String, Object>> parseDeadlockMetadataStreamWithOrder(InputStream content, PlayerHistory history,
+                                                                          SteamId targetSteamId,
+                                                                          Consumer<Map<String, Object>> listener) throws IOException {
+        Map<Long, Map<String, Object>> parsedById = new HashMap<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(content)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                logger.warn("Metadata API response is not an array");
+                return new ArrayList<>();
             }
             
-            // match-history 순서대로 처리 (최신 순서 유지)
-            for (JsonNode historyMatch : historyArray) {
-                String matchId = historyMatch.get("match_id").asText();
-                JsonNode metadata = metadataMap.get(matchId);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode metadata = objectMapper.readTree(parser);
+                ingestMatchMetadata(metadata);
                 
-                if (metadata != null) {
-                    Map<String, Object> matchData = parseMatchMetadataWithHistory(metadata, historyMatch, targetSteamId);
-                    if (matchData != null) {
-                        matches.add(matchData);
+                long matchId = metadata.path("match_id").asLong();
+                int row = history.indexOf(matchId);
+                if (row < 0) {
+                    continue;
+                }
+                
+                Map<String, Object> matchData = parseMatchMetadataWithHistory(metadata, history, row, targetSteamId);
+                if (matchData != null) {
+                    parsedById.put(matchId, matchData);
+                    if (listener != null) {
+                        listener.accept(matchData);
                     }
                 }
             }
-            
-            logger.info("Parsed {} matches in history order", matches.size());
-            
-        } catch (Exception e) {
-            logger.error("Error parsing Deadlock metadata with order", e);
         }
         
+        // 최신 매치부터 정렬
+        List<Map<String, Object>> matches = new ArrayList<>(parsedById.size());
+        for (int i = history.size() - 1; i >= 0 && matches.size() < parsedById.size(); i--) {
+            Map<String, Object> matchData = parsedById.get(history.getMatchIds()[i]);
+            if (matchData != null) {
+                matches.add(matchData);
+            }
+        }
+        
+        logger.info("Parsed {} matches in history order", matches.size());
         return matches;
     }
     
     /**
      * Deadlock API v1 메타데이터 응답 파싱
      */
-    private List<Map<String, Object>> parseDeadlockMetadataResponse(JsonNode root, String targetSteamId) {
+    private List<Map<String, Object>> parseDeadlockMetadataResponse(JsonNode root, SteamId targetSteamId) {
         List<Map<String, Object>> matches = new ArrayList<>();
         
         try {
@@ -413,6 +864,7 @@ public class DeadlockService {
             
             if (matchesData.isArray()) {
                 for (JsonNode matchNode : matchesData) {
+                    ingestMatchMetadata(matchNode);
                     Map<String, Object> matchData = parseMatchMetadata(matchNode, targetSteamId);
                     if (matchData != null) {
                         matches.add(matchData);
@@ -435,39 +887,142 @@ public class DeadlockService {
         return matches;
     }
     
+    /**
+     * 매치 레코드 조회 - 프로필 로드 때 저장된 레코드를 우선 사용하고, 없을 때만 메타데이터 API 호출
+     */
+    public MatchRecord getMatchRecord(long matchId) {
+        MatchRecord record = matchRecordStore.get(matchId);
+        if (record != null) {
+            return record;
+        }
+        
+        String metadataUrl = String.format(
+            "https://api.deadlock-api.com/v1/matches/metadata?include_info=true&include_player_info=true&include_player_items=true&match_ids=%d",
+            matchId);
+        HttpGet metadataRequest = new HttpGet(metadataUrl);
+        metadataRequest.setHeader("User-Agent", "Mozilla/5.0 (Deadlock-Stats-Tracker/1.0)");
+        metadataRequest.setHeader("Accept", "application/json");
+        
+        try {
+            metadataBulkhead.execute(metadataRequest, response -> {
+                int statusCode = response.getStatusLine().getStatusCode();
+                if (statusCode != 200) {
+                    EntityUtils.consume(response.getEntity());
+                    logger.warn("Match metadata API returned status: {} for match: {}", statusCode, matchId);
+                    return null;
+                }
+                try (InputStream content = response.getEntity().getContent()) {
+                    JsonNode root = objectMapper.readTree(content);
+                    if (root != null && root.isArray()) {
+                        root.forEach(this::ingestMatchMetadata);
+                    }
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            logger.error("Error fetching match metadata for match: " + matchId, e);
+            return null;
+        }
+        return matchRecordStore.get(matchId);
+    }
+    
+    /**
+     * 내려받은 메타데이터의 12명 전원 행을 압축 레코드로 변환하여 저장하고 전체 통계에 반영
+     */
+    private void ingestMatchMetadata(JsonNode metadataNode) {
+        MatchRecord record = buildMatchRecord(metadataNode);
+        if (record != null) {
+            matchRecordStore.put(record);
+            heroMetaService.ingest(record);
+        }
+    }
+    
+    /**
+     * 매치 메타데이터 → MatchRecord (플레이어 정보가 없으면 null)
+     */
+    private MatchRecord buildMatchRecord(JsonNode metadataNode) {
+        JsonNode playersNode = metadataNode.get("players");
+        if (!metadataNode.has("match_id") || playersNode == null || !playersNode.isArray()) {
+            return null;
+        }
+        
+        MatchRecord record = new MatchRecord(
+                metadataNode.get("match_id").asLong(),
+                metadataNode.has("start_time") ? metadataNode.get("start_time").asLong() : 0L,
+                metadataNode.has("duration_s") ? metadataNode.get("duration_s").asInt() : 0,
+                metadataNode.has("winning_team") ? parseTeam(metadataNode.get("winning_team")) : -1,
+                playersNode.size());
+        
+        for (int i = 0; i < playersNode.size(); i++) {
+            JsonNode playerNode = playersNode.get(i);
+            record.getAccountIds()[i] = playerNode.has("account_id") ? playerNode.get("account_id").asLong() : 0L;
+            record.getHeroIds()[i] = playerNode.has("hero_id") ? playerNode.get("hero_id").asInt() : 0;
+            record.getTeams()[i] = resolvePlayerTeam(playerNode);
+            record.getKills()[i] = playerNode.has("kills") ? playerNode.get("kills").asInt() : 0;
+            record.getDeaths()[i] = playerNode.has("deaths") ? playerNode.get("deaths").asInt() : 0;
+            record.getAssists()[i] = playerNode.has("assists") ? playerNode.get("assists").asInt() : 0;
+            record.getNetWorths()[i] = playerNode.has("net_worth") ? playerNode.get("net_worth").asInt() : 0;
+            record.getFinalItems()[i] = extractFinalItemIds(playerNode);
+        }
+        return record;
+    }
+    
+    /**
+     * 플레이어의 팀 (team 필드가 없으면 기존 방식대로 player_slot으로 판단)
+     */
+    private int resolvePlayerTeam(JsonNode playerNode) {
+        if (playerNode.has("team")) {
+            return parseTeam(playerNode.get("team"));
+        }
+        return playerNode.has("player_slot") && playerNode.get("player_slot").asInt() >= 6 ? 1 : 0;
+    }
+    
+    /**
+     * 팀 값 파싱 - 숫자(0/1) 또는 "Team0"/"Team1" 형식 모두 지원
+     */
+    private int parseTeam(JsonNode teamNode) {
+        if (teamNode.isNumber()) {
+            return teamNode.asInt();
+        }
+        return parseTeam(teamNode.asText());
+    }
+    
+    private int parseTeam(String text) {
+        return text.endsWith("1") ? 1 : text.endsWith("0") ? 0 : -1;
+    }
+    
     /**
      * match-history와 metadata를 결합하여 파싱 (승패 정보 포함)
      */
-    private Map<String, Object> parseMatchMetadataWithHistory(JsonNode metadataNode, JsonNode historyNode, String targetSteamId) {
+    private Map<String, Object> parseMatchMetadataWithHistory(JsonNode metadataNode, PlayerHistory history, int row, SteamId targetSteamId) {
         try {
             Map<String, Object> matchData = new HashMap<>();
             
             // match-history에서 기본 정보 가져오기
-            matchData.put("matchId", historyNode.get("match_id").asText());
-            matchData.put("startTime", historyNode.get("start_time").asLong() * 1000); // 초를 밀리초로
+            matchData.put("matchId", Long.toString(history.getMatchIds()[row]));
+            matchData.put("startTime", history.getStartTimes()[row] * 1000); // 초를 밀리초로
             
             // match-history에서 승패 정보 가져오기 (가장 정확함)
-            int matchResult = historyNode.get("match_result").asInt();
-            matchData.put("result", matchResult == 1 ? "WIN" : "LOSS");
+            matchData.put("result", history.getWins()[row] ? "WIN" : "LOSS");
             
             // 게임 시간
             if (metadataNode.has("duration_s")) {
                 matchData.put("duration", formatDuration(metadataNode.get("duration_s").asInt()));
-            } else if (historyNode.has("match_duration_s")) {
-                matchData.put("duration", formatDuration(historyNode.get("match_duration_s").asInt()));
+            } else if (history.getDurations()[row] > 0) {
+                matchData.put("duration", formatDuration(history.getDurations()[row]));
             }
             
             // 영웅 정보 (match-history에서)
-            int heroId = historyNode.get("hero_id").asInt();
+            int heroId = history.getHeroIds()[row];
             String heroName = getHeroNameById(heroId);
             matchData.put("hero", heroName);
             matchData.put("heroImage", getHeroImagePath(heroName));
             
             // KDA 정보 (match-history에서)
-            matchData.put("kills", historyNode.get("player_kills").asInt());
-            matchData.put("deaths", historyNode.get("player_deaths").asInt());
-            matchData.put("assists", historyNode.get("player_assists").asInt());
-            matchData.put("netWorth", historyNode.get("net_worth").asInt());
+            matchData.put("kills", history.getKills()[row]);
+            matchData.put("deaths", history.getDeaths()[row]);
+            matchData.put("assists", history.getAssists()[row]);
+            matchData.put("netWorth", history.getNetWorths()[row]);
             
             // Final Items 파싱 (metadata에서)
             List<Map<String, Object>> finalItems = new ArrayList<>();
@@ -477,7 +1032,7 @@ public class DeadlockService {
                     long playerAccountId = playerNode.has("account_id") ? playerNode.get("account_id").asLong() : 0;
                     
                     // Steam ID 매칭 (다양한 형식 지원)
-                    if (isMatchingSteamId(String.valueOf(playerAccountId), targetSteamId)) {
+                    if (isMatchingSteamId(playerAccountId, targetSteamId)) {
                         logger.debug("Found target player in metadata for match {}", matchData.get("matchId"));
                         finalItems = extractFinalItemsFromPlayer(playerNode);
                         break;
@@ -499,7 +1054,7 @@ public class DeadlockService {
     /**
      * 개별 매치 메타데이터 파싱
      */
-    private Map<String, Object> parseMatchMetadata(JsonNode matchNode, String targetSteamId) {
+    private Map<String, Object> parseMatchMetadata(JsonNode matchNode, SteamId targetSteamId) {
         try {
             Map<String, Object> matchData = new HashMap<>();
             
@@ -534,46 +1089,7 @@ public class DeadlockService {
                     long playerAccountId = playerNode.has("account_id") ? playerNode.get("account_id").asLong() : 0;
                     logger.info("Checking player account_id: {} vs target Steam ID: {}", playerAccountId, targetSteamId);
                     
-                    // 다양한 Steam ID 형식 매칭 시도
-                    boolean isMatch = false;
-                    
-                    // 1. 직접 문자열 매칭
-                    if (String.valueOf(playerAccountId).equals(targetSteamId)) {
-                        isMatch = true;
-                        logger.info("Match found: Direct string match");
-                    }
-                    
-                    // 2. 64비트 Steam ID에서 32비트로 변환 시도
-                    if (!isMatch) {
-                        try {
-                            long targetId64 = Long.parseLong(targetSteamId);
-                            if (targetId64 > 76561197960265728L) {
-                                long converted32 = targetId64 - 76561197960265728L;
-                                if (converted32 == playerAccountId) {
-                                    isMatch = true;
-                                    logger.info("Match found: 64bit to 32bit conversion ({} -> {})", targetId64, converted32);
-                                }
-                            }
-                        } catch (NumberFormatException e) {
-                            // 무시
-                        }
-                    }
-                    
-                    // 3. 32비트를 64비트로 변환 시도
-                    if (!isMatch) {
-                        try {
-                            long targetId32 = Long.parseLong(targetSteamId);
-                            long converted64 = targetId32 + 76561197960265728L;
-                            if (converted64 == playerAccountId) {
-                                isMatch = true;
-                                logger.info("Match found: 32bit to 64bit conversion ({} -> {})", targetId32, converted64);
-                            }
-                        } catch (NumberFormatException e) {
-                            // 무시
-                        }
-                    }
-                    
-                    if (isMatch) {
+                    if (isMatchingSteamId(playerAccountId, targetSteamId)) {
                         logger.info("Found target player {} in match {}", targetSteamId, matchData.get("matchId"));
                         // 대상 플레이어 데이터 추출
                         extractPlayerStatsFromMetadata(playerNode, matchData);
@@ -666,10 +1182,19 @@ public class DeadlockService {
     /**
      * Hero ID를 name으로 변환 (임시 구현)
      */
-    private Map<Integer, String> heroNameCache = new HashMap<>();
-    private boolean heroNamesLoaded = false;
+    private final Map<Integer, String> heroNameCache = new ConcurrentHashMap<>();
+    private volatile boolean heroNamesLoaded = false;
+    // 카탈로그(이름/이미지) 내용이 바뀔 때마다 증가 - 렌더링된 매치 행 캐시의 버전으로 사용
+    private final AtomicLong catalogVersion = new AtomicLong();
     
-    private String getHeroNameById(int heroId) {
+    /**
+     * 현재 카탈로그 버전 (백그라운드 갱신으로 이름이나 이미지가 바뀌면 증가)
+     */
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+    
+    public String getHeroNameById(int heroId) {
         if (!heroNamesLoaded) {
             loadHeroNamesFromAPI();
         }
@@ -678,41 +1203,13 @@ public class DeadlockService {
     
     private void loadHeroNamesFromAPI() {
         try {
-            String heroesUrl = "https://assets.deadlock-api.com/v2/heroes?only_active=true";
-            logger.info("Loading hero names and images from API: {}", heroesUrl);
-            
-            HttpGet request = new HttpGet(heroesUrl);
-            request.setHeader("User-Agent", "Mozilla/5.0 (Deadlock-Stats-Tracker/1.0)");
-            request.setHeader("Accept", "application/json");
+            logger.info("Loading hero names and images from API: {}", CatalogSnapshot.HEROES_URL);
             
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
-                int statusCode = response.getStatusLine().getStatusCode();
-                if (statusCode == 200) {
-                    String responseBody = EntityUtils.toString(response.getEntity());
-                    JsonNode heroesArray = objectMapper.readTree(responseBody);
-                    
-                    if (heroesArray.isArray()) {
-                        for (JsonNode hero : heroesArray) {
-                            int id = hero.get("id").asInt();
-                            String name = hero.get("name").asText();
-                            heroNameCache.put(id, name);
-                            
-                            // 이미지 URL도 함께 캐시
-                            if (hero.has("images")) {
-                                JsonNode images = hero.get("images");
-                                if (images.has("selection_image")) {
-                                    String imageUrl = images.get("selection_image").asText();
-                                    heroImageCache.put(id, imageUrl);
-                                }
-                            }
-                        }
-                        heroNamesLoaded = true;
-                        logger.info("Successfully loaded {} hero names and {} images", heroNameCache.size(), heroImageCache.size());
-                    }
-                } else {
-                    logger.warn("Failed to load heroes API, status: {}", statusCode);
-                    fallbackToDefaultHeroNames();
-                }
+            List<CatalogSnapshot.Hero> heroes = fetchHeroCatalog();
+            if (heroes != null) {
+                applyHeroCatalog(heroes);
+            } else {
+                fallbackToDefaultHeroNames();
             }
         } catch (Exception e) {
             logger.error("Error loading heroes from API, using fallback", e);
@@ -720,6 +1217,107 @@ public class DeadlockService {
         }
     }
     
+    /**
+     * 캐릭터 카탈로그 적용 (이름 + 선택 화면 이미지)
+     */
+    private void applyHeroCatalog(List<CatalogSnapshot.Hero> heroes) {
+        boolean changed = false;
+        for (CatalogSnapshot.Hero hero : heroes) {
+            changed |= !hero.name.equals(heroNameCache.put(hero.id, hero.name));
+            if (!hero.image.isEmpty()) {
+                changed |= !hero.image.equals(heroImageCache.put(hero.id, hero.image));
+            }
+        }
+        if (changed) {
+            catalogVersion.incrementAndGet();
+        }
+        heroNamesLoaded = true;
+        logger.info("Successfully loaded {} hero names and {} images", heroNameCache.size(), heroImageCache.size());
+    }
+    
+    /**
+     * 아이템 카탈로그 적용 (이미지는 로컬/외부 이미지 경로로 변환)
+     */
+    private void applyItemCatalog(List<CatalogSnapshot.Item> items) {
+        boolean changed = false;
+        for (CatalogSnapshot.Item item : items) {
+            changed |= !item.name.equals(itemNameCache.put(item.id, item.name));
+            if (!item.image.isEmpty()) {
+                String image = convertToLocalImagePath(item.id, item.image);
+                changed |= !image.equals(itemImageCache.put(item.id, image));
+            }
+        }
+        if (changed) {
+            catalogVersion.incrementAndGet();
+        }
+        itemsLoaded = true;
+        logger.info("Successfully loaded {} item names and {} images", items.size(), itemImageCache.size());
+    }
+    
+    /**
+     * WAR에 포함된 카탈로그 스냅샷 적재 (없으면 기존처럼 첫 사용 시 API에서 로드)
+     */
+    private void loadCatalogSnapshot() {
+        ClassPathResource resource = new ClassPathResource(CatalogSnapshot.RESOURCE_PATH);
+        if (!resource.exists()) {
+            logger.info("Catalog snapshot not packaged, catalogs will load from API");
+            return;
+        }
+        
+        long start = System.nanoTime();
+        try (InputStream in = new java.io.BufferedInputStream(resource.getInputStream())) {
+            CatalogSnapshot snapshot = CatalogSnapshot.read(in);
+            applyHeroCatalog(snapshot.getHeroes());
+            applyItemCatalog(snapshot.getItems());
+            logger.info("Catalog snapshot from {} loaded in {} ms",
+                       Instant.ofEpochMilli(snapshot.getCreatedAt()), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            logger.warn("Failed to read catalog snapshot: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 실제 API에서 최신 카탈로그를 받아 교체 (백그라운드 작업, 실패하면 기존 카탈로그 유지)
+     */
+    private void refreshCatalogFromAPI() {
+        try {
+            List<CatalogSnapshot.Hero> heroes = fetchHeroCatalog();
+            if (heroes != null && !heroes.isEmpty()) {
+                applyHeroCatalog(heroes);
+            }
+            
+            List<CatalogSnapshot.Item> items = fetchItemCatalog();
+            if (items != null && !items.isEmpty()) {
+                applyItemCatalog(items);
+            }
+        } catch (Exception e) {
+            logger.warn("Background catalog refresh failed, keeping current catalog: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * assets API 캐릭터 카탈로그 (실패하면 null, 변경이 없으면 이전 파싱 결과 재사용)
+     */
+    private List<CatalogSnapshot.Hero> fetchHeroCatalog() throws IOException {
+        return conditionalCache.execute(assetsBulkhead, catalogRequest(CatalogSnapshot.HEROES_URL),
+                entity -> CatalogSnapshot.parseHeroes(objectMapper.readTree(entity.getContent())));
+    }
+    
+    /**
+     * assets API 아이템 카탈로그 (실패하면 null, 변경이 없으면 이전 파싱 결과 재사용)
+     */
+    private List<CatalogSnapshot.Item> fetchItemCatalog() throws IOException {
+        return conditionalCache.execute(assetsBulkhead, catalogRequest(CatalogSnapshot.ITEMS_URL),
+                entity -> CatalogSnapshot.parseItems(objectMapper.readTree(entity.getContent())));
+    }
+    
+    private HttpGet catalogRequest(String url) {
+        HttpGet request = new HttpGet(url);
+        request.setHeader("User-Agent", "Mozilla/5.0 (Deadlock-Stats-Tracker/1.0)");
+        request.setHeader("Accept", "application/json");
+        return request;
+    }
+    
     private void fallbackToDefaultHeroNames() {
         // 최신 Deadlock 영웅 목록 (실제 API에서 확인된 ID들)
         heroNameCache.put(1, "Infernus");
@@ -786,14 +1384,14 @@ public class DeadlockService {
         return "/resources/images/heroes/default.jpg";
     }
     
-    private Map<Integer, String> heroImageCache = new HashMap<>();
+    private final Map<Integer, String> heroImageCache = new ConcurrentHashMap<>();
     
     // 아이템 관련 캐시
     private final Map<Long, String> itemNameCache = new ConcurrentHashMap<>();
     private final Map<Long, String> itemImageCache = new ConcurrentHashMap<>();
-    private boolean itemsLoaded = false;
+    private volatile boolean itemsLoaded = false;
     
-    private String getHeroImageById(int heroId) {
+    public String getHeroImageById(int heroId) {
         // 캐시에서 이미지 URL 찾기
         if (heroImageCache.containsKey(heroId)) {
             return heroImageCache.get(heroId);
@@ -824,6 +1422,14 @@ public class DeadlockService {
         return defaultImage;
     }
     
+    public String getItemNameById(long itemId) {
+        return getItemName(itemId);
+    }
+    
+    public String getItemImageById(long itemId) {
+        return getItemImagePath(itemId);
+    }
+    
     private String getItemImagePath(int itemId) {
         // int를 long으로 변환하여 공통 메서드 호출
         return getItemImagePath((long) itemId);
@@ -1043,46 +1649,44 @@ public class DeadlockService {
     }
     
     /**
-     * Steam ID 매칭 여부 확인 (다양한 형식 지원)
+     * 메타데이터의 account_id(32비트)가 대상 플레이어인지 확인
      */
-    private boolean isMatchingSteamId(String playerAccountId, String targetSteamId) {
-        // 1. 직접 문자열 매칭
-        if (playerAccountId.equals(targetSteamId)) {
-            return true;
-        }
-        
-        // 2. 64비트 Steam ID에서 32비트로 변환 시도
-        try {
-            long targetId64 = Long.parseLong(targetSteamId);
-            if (targetId64 > 76561197960265728L) {
-                long converted32 = targetId64 - 76561197960265728L;
-                if (converted32 == Long.parseLong(playerAccountId)) {
-                    return true;
-                }
-            }
-        } catch (NumberFormatException e) {
-            // 무시
-        }
-        
-        // 3. 32비트에서 64비트로 변환 시도
-        try {
-            long playerId32 = Long.parseLong(playerAccountId);
-            long converted64 = playerId32 + 76561197960265728L;
-            if (String.valueOf(converted64).equals(targetSteamId)) {
-                return true;
-            }
-        } catch (NumberFormatException e) {
-            // 무시
-        }
-        
-        return false;
+    private boolean isMatchingSteamId(long playerAccountId, SteamId targetSteamId) {
+        return playerAccountId == targetSteamId.getAccountId();
     }
     
     /**
      * 플레이어 노드에서 Final Items 추출
      */
     private List<Map<String, Object>> extractFinalItemsFromPlayer(JsonNode playerNode) {
-        List<Map<String, Object>> finalItems = new ArrayList<>();
+        List<Map<String, Object>> finalItems = toItemList(extractFinalItemIds(playerNode));
+        logger.info("Final items count: {} (max 12)", finalItems.size());
+        return finalItems;
+    }
+    
+    /**
+     * 아이템 ID 목록 → 이름/이미지를 포함한 아이템 목록
+     */
+    private List<Map<String, Object>> toItemList(long[] itemIds) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        if (itemIds == null) {
+            return items;
+        }
+        for (long itemId : itemIds) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("id", itemId);
+            item.put("name", getItemName(itemId));
+            item.put("image", getItemImagePath(itemId));
+            items.add(item);
+        }
+        return items;
+    }
+    
+    /**
+     * 플레이어 노드의 아이템 이벤트를 시간순으로 재생하여 최종 인벤토리의 아이템 ID 추출
+     */
+    private long[] extractFinalItemIds(JsonNode playerNode) {
+        List<Long> finalItemIds = new ArrayList<>();
         
         if (playerNode.has("items") && playerNode.get("items").isArray()) {
             JsonNode itemsArray = playerNode.get("items");
@@ -1158,23 +1762,16 @@ public class DeadlockService {
                 }
             }
             
-            // 최종 인벤토리를 Map으로 변환
             for (Long currentItemId : currentInventory.values()) {
                 if (currentItemId != null && currentItemId > 0) {
-                    Map<String, Object> item = new HashMap<>();
-                    item.put("id", currentItemId);
-                    item.put("name", getItemName(currentItemId));
-                    item.put("image", getItemImagePath(currentItemId));
-                    finalItems.add(item);
+                    finalItemIds.add(currentItemId);
                 }
             }
-            
-            logger.info("Final items count: {} (max 12)", finalItems.size());
         } else {
             logger.debug("No items array found for player");
         }
         
-        return finalItems;
+        return finalItemIds.stream().mapToLong(Long::longValue).toArray();
     }
     
     /**
@@ -1188,50 +1785,11 @@ public class DeadlockService {
             }
             
             // 로컬 매핑 실패 시 API에서 로드
-            String itemsUrl = "https://assets.deadlock-api.com/v2/items";
-            logger.info("Loading items from API: {}", itemsUrl);
+            logger.info("Loading items from API: {}", CatalogSnapshot.ITEMS_URL);
             
-            HttpGet request = new HttpGet(itemsUrl);
-            request.setHeader("User-Agent", "Mozilla/5.0 (Deadlock-Stats-Tracker/1.0)");
-            request.setHeader("Accept", "application/json");
-            
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
-                int statusCode = response.getStatusLine().getStatusCode();
-                String jsonResponse = EntityUtils.toString(response.getEntity());
-                
-                if (statusCode == 200) {
-                    JsonNode itemsArray = objectMapper.readTree(jsonResponse);
-                    
-                    if (itemsArray.isArray()) {
-                        int loadedItems = 0;
-                        for (JsonNode itemNode : itemsArray) {
-                            if (itemNode.has("id") && itemNode.has("name")) {
-                                long itemId = itemNode.get("id").asLong();
-                                String itemName = itemNode.get("name").asText();
-                                
-                                // 아이템 이름이 의미있는 경우에만 캐시 (citadel_로 시작하는 내부 이름 제외)
-                                if (!itemName.startsWith("citadel_") && !itemName.equals("")) {
-                                    itemNameCache.put(itemId, itemName);
-                                    
-                                    // 이미지 URL도 캐시
-                                    if (itemNode.has("image")) {
-                                        String imageUrl = itemNode.get("image").asText();
-                                        // 로컬 이미지 경로로 변환
-                                        String localImagePath = convertToLocalImagePath(itemId, imageUrl);
-                                        itemImageCache.put(itemId, localImagePath);
-                                    }
-                                    
-                                    loadedItems++;
-                                }
-                            }
-                        }
-                        
-                        itemsLoaded = true;
-                        logger.info("Successfully loaded {} item names and {} images from API", loadedItems, itemImageCache.size());
-                    }
-                } else {
-                    logger.warn("Items API returned status: {}", statusCode);
-                }
+            List<CatalogSnapshot.Item> items = fetchItemCatalog();
+            if (items != null) {
+                applyItemCatalog(items);
             }
             
         } catch (Exception e) {
@@ -1245,43 +1803,39 @@ public class DeadlockService {
      */
     private boolean loadItemsFromLocalMapping() {
         try {
-            // ClassPath에서 매핑 파일 찾기
-            ClassPathResource resource = new ClassPathResource("../../../item-id-mapping.json");
-            if (!resource.exists()) {
-                // 프로젝트 루트에서 찾기
-                String mappingPath = System.getProperty("user.dir") + "/item-id-mapping.json";
-                java.io.File mappingFile = new java.io.File(mappingPath);
-                if (!mappingFile.exists()) {
-                    logger.debug("Local item mapping file not found: {}", mappingPath);
-                    return false;
-                }
-                
-                // 파일에서 매핑 로드
-                String mappingContent = new String(java.nio.file.Files.readAllBytes(mappingFile.toPath()));
-                JsonNode mappingNode = objectMapper.readTree(mappingContent);
-                
-                int loadedMappings = 0;
-                if (mappingNode.isObject()) {
-                    mappingNode.fields().forEachRemaining(entry -> {
-                        try {
-                            long itemId = Long.parseLong(entry.getKey());
-                            String imagePath = entry.getValue().asText();
-                            itemImageCache.put(itemId, imagePath);
-                        } catch (NumberFormatException e) {
-                            // 잘못된 ID 형식은 무시
-                        }
-                    });
-                    loadedMappings = itemImageCache.size();
-                }
+            // 프로젝트 루트에서 찾기
+            String mappingPath = System.getProperty("user.dir") + "/item-id-mapping.json";
+            java.io.File mappingFile = new java.io.File(mappingPath);
+            if (!mappingFile.exists()) {
+                logger.debug("Local item mapping file not found: {}", mappingPath);
+                return false;
+            }
+            
+            // 파일에서 매핑 로드
+            String mappingContent = new String(java.nio.file.Files.readAllBytes(mappingFile.toPath()));
+            JsonNode mappingNode = objectMapper.readTree(mappingContent);
+            
+            int loadedMappings = 0;
+            if (mappingNode.isObject()) {
+                mappingNode.fields().forEachRemaining(entry -> {
+                    try {
+                        long itemId = Long.parseLong(entry.getKey());
+                        String imagePath = entry.getValue().asText();
+                        itemImageCache.put(itemId, imagePath);
+                    } catch (NumberFormatException e) {
+                        // 잘못된 ID 형식은 무시
+                    }
+                });
+                loadedMappings = itemImageCache.size();
+            }
+            
+            if (loadedMappings > 0) {
+                itemsLoaded = true;
+                logger.info("Successfully loaded {} item image mappings from local file", loadedMappings);
                 
-                if (loadedMappings > 0) {
-                    itemsLoaded = true;
-                    logger.info("Successfully loaded {} item image mappings from local file", loadedMappings);
-                    
-                    // API에서 아이템 이름은 별도로 로드
-                    loadItemNamesFromAPI();
-                    return true;
-                }
+                // API에서 아이템 이름은 별도로 로드
+                loadItemNamesFromAPI();
+                return true;
             }
         } catch (Exception e) {
             logger.debug("Failed to load from local mapping: {}", e.getMessage());
@@ -1295,32 +1849,12 @@ public class DeadlockService {
      */
     private void loadItemNamesFromAPI() {
         try {
-            String itemsUrl = "https://assets.deadlock-api.com/v2/items";
-            HttpGet request = new HttpGet(itemsUrl);
-            request.setHeader("User-Agent", "Mozilla/5.0 (Deadlock-Stats-Tracker/1.0)");
-            request.setHeader("Accept", "application/json");
-            
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
-                if (response.getStatusLine().getStatusCode() == 200) {
-                    String jsonResponse = EntityUtils.toString(response.getEntity());
-                    JsonNode itemsArray = objectMapper.readTree(jsonResponse);
-                    
-                    if (itemsArray.isArray()) {
-                        int loadedNames = 0;
-                        for (JsonNode itemNode : itemsArray) {
-                            if (itemNode.has("id") && itemNode.has("name")) {
-                                long itemId = itemNode.get("id").asLong();
-                                String itemName = itemNode.get("name").asText();
-                                
-                                if (!itemName.startsWith("citadel_") && !itemName.equals("")) {
-                                    itemNameCache.put(itemId, itemName);
-                                    loadedNames++;
-                                }
-                            }
-                        }
-                        logger.info("Successfully loaded {} item names from API", loadedNames);
-                    }
+            List<CatalogSnapshot.Item> items = fetchItemCatalog();
+            if (items != null) {
+                for (CatalogSnapshot.Item item : items) {
+                    itemNameCache.put(item.id, item.name);
                 }
+                logger.info("Successfully loaded {} item names from API", items.size());
             }
         } catch (Exception e) {
             logger.warn("Failed to load item names from API: {}", e.getMessage());
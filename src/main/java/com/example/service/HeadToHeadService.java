@@ -0,0 +1,158 @@
+package com.example.service;
+
+import com.example.model.PlayerHistory;
+import com.example.model.SteamId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 두 플레이어의 함께/상대로 플레이한 매치 비교
+ * DeadlockService가 이미 받아 둔 match-history(match ID 정렬 배열)를 병합 방식으로 교차하므로
+ * 두 히스토리 길이에 대해 선형 시간에 계산된다.
+ */
+@Service
+public class HeadToHeadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadToHeadService.class);
+
+    private static final int RECENT_SHARED_LIMIT = 20;
+
+    @Autowired
+    private DeadlockService deadlockService;
+
+    /** 같은 팀/상대 팀 매치 누적값 */
+    private static class Tally {
+        int matches;
+        int wins;
+        long kills, deaths, assists;
+        long otherKills, otherDeaths, otherAssists;
+
+        void add(PlayerHistory mine, int i, PlayerHistory other, int j) {
+            matches++;
+            if (mine.getWins()[i]) {
+                wins++;
+            }
+            kills += mine.getKills()[i];
+            deaths += mine.getDeaths()[i];
+            assists += mine.getAssists()[i];
+            otherKills += other.getKills()[j];
+            otherDeaths += other.getDeaths()[j];
+            otherAssists += other.getAssists()[j];
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> result = new HashMap<>();
+            result.put("matches", matches);
+            result.put("wins", wins);
+            result.put("losses", matches - wins);
+            result.put("winRate", matches > 0 ? round((double) wins / matches * 100) : 0.0);
+            result.put("kda", kda(kills, deaths, assists));
+            result.put("otherKda", kda(otherKills, otherDeaths, otherAssists));
+            return result;
+        }
+    }
+
+    /**
+     * 두 플레이어 비교 결과 (같은 팀 / 상대 팀 전적, KDA, 최근 공통 매치)
+     */
+    public Map<String, Object> compare(SteamId steamId, SteamId otherSteamId) {
+        PlayerHistory mine = deadlockService.getPlayerHistory(steamId);
+        PlayerHistory other = deadlockService.getPlayerHistory(otherSteamId);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("steamId", steamId.toString());
+        result.put("otherSteamId", otherSteamId.toString());
+
+        if (mine == null || other == null) {
+            result.put("sharedMatches", 0);
+            result.put("unknownTeamMatches", 0);
+            result.put("together", new Tally().toMap());
+            result.put("against", new Tally().toMap());
+            result.put("recentShared", new ArrayList<>());
+            return result;
+        }
+
+        Tally together = new Tally();
+        Tally against = new Tally();
+        // 최근 매치부터 보여주기 위해 공통 매치 위치를 기록 (오름차순 병합이므로 마지막이 최신)
+        int[] sharedMine = new int[Math.min(mine.size(), other.size())];
+        int[] sharedOther = new int[sharedMine.length];
+        int shared = 0;
+        int unknownTeam = 0;
+
+        long[] a = mine.getMatchIds();
+        long[] b = other.getMatchIds();
+        int i = 0, j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                if (mine.getTeams()[i] < 0 || other.getTeams()[j] < 0) {
+                    // player_team이 없는 매치는 같은 팀인지 알 수 없음
+                    unknownTeam++;
+                } else if (mine.getTeams()[i] == other.getTeams()[j]) {
+                    together.add(mine, i, other, j);
+                } else {
+                    against.add(mine, i, other, j);
+                }
+                sharedMine[shared] = i;
+                sharedOther[shared] = j;
+                shared++;
+                i++;
+                j++;
+            }
+        }
+
+        List<Map<String, Object>> recentShared = new ArrayList<>();
+        for (int k = shared - 1; k >= 0 && recentShared.size() < RECENT_SHARED_LIMIT; k--) {
+            recentShared.add(toSharedMatch(mine, sharedMine[k], other, sharedOther[k]));
+        }
+
+        logger.debug("Head-to-head {} vs {}: {} shared of {}/{} matches",
+                    steamId, otherSteamId, shared, a.length, b.length);
+
+        result.put("sharedMatches", shared);
+        result.put("unknownTeamMatches", unknownTeam);
+        result.put("together", together.toMap());
+        result.put("against", against.toMap());
+        result.put("recentShared", recentShared);
+        return result;
+    }
+
+    private Map<String, Object> toSharedMatch(PlayerHistory mine, int i, PlayerHistory other, int j) {
+        Map<String, Object> match = new HashMap<>();
+        match.put("matchId", String.valueOf(mine.getMatchIds()[i]));
+        match.put("startTime", mine.getStartTimes()[i] * 1000); // 초를 밀리초로
+        boolean teamKnown = mine.getTeams()[i] >= 0 && other.getTeams()[j] >= 0;
+        match.put("sameTeam", teamKnown ? mine.getTeams()[i] == other.getTeams()[j] : null);
+        match.put("result", mine.getWins()[i] ? "WIN" : "LOSS");
+        match.put("hero", deadlockService.getHeroNameById(mine.getHeroIds()[i]));
+        match.put("heroImage", deadlockService.getHeroImageById(mine.getHeroIds()[i]));
+        match.put("kills", mine.getKills()[i]);
+        match.put("deaths", mine.getDeaths()[i]);
+        match.put("assists", mine.getAssists()[i]);
+        match.put("otherHero", deadlockService.getHeroNameById(other.getHeroIds()[j]));
+        match.put("otherHeroImage", deadlockService.getHeroImageById(other.getHeroIds()[j]));
+        match.put("otherKills", other.getKills()[j]);
+        match.put("otherDeaths", other.getDeaths()[j]);
+        match.put("otherAssists", other.getAssists()[j]);
+        return match;
+    }
+
+    private static double kda(long kills, long deaths, long assists) {
+        return round(deaths > 0 ? (double) (kills + assists) / deaths : kills + assists);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.service;
+
+import com.example.model.MatchRecord;
+import com.example.util.LongHashSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 전체 플레이어 영웅 메타 통계 엔진
+ * 프로필 조회 중 내려받은 매치 메타데이터의 12명 전원 행을 match_id 기준으로 한 번씩만 반영한다.
+ * 일 단위 버킷에 영웅별 기본형 카운터를 누적하고, 조회 시 기간 내 버킷을 fork-join으로 병렬 합산한다.
+ * 추가 upstream 호출 없이 메타 통계를 제공한다.
+ */
+@Service
+public class HeroMetaService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(HeroMetaService.class);
+    
+    private static final long SECONDS_PER_DAY = 86400L;
+    // 버킷 합산을 작업 하나가 직접 처리하는 최대 버킷 수
+    private static final int AGGREGATION_THRESHOLD = 8;
+    // 버킷 배열이 upstream 값에 따라 무한히 커지지 않도록 허용하는 최대 hero ID
+    private static final int MAX_HERO_ID = 1023;
+    
+    @Value("${meta.retention.days:90}")
+    private int retentionDays;
+    
+    // 일 단위 버킷 링 버퍼 (index = day % retentionDays)
+    private DayBucket[] buckets;
+    
+    /**
+     * 하루치 영웅별 누적 카운터 - 배열 인덱스는 hero ID
+     */
+    private static class DayBucket {
+        long day = -1;
+        int matches;
+        int[] picks = new int[64];
+        int[] wins = new int[64];
+        long[] kills = new long[64];
+        long[] deaths = new long[64];
+        long[] assists = new long[64];
+        final LongHashSet matchIds = new LongHashSet(256);
+        
+        void reset(long newDay) {
+            day = newDay;
+            matches = 0;
+            picks = new int[picks.length];
+            wins = new int[wins.length];
+            kills = new long[kills.length];
+            deaths = new long[deaths.length];
+            assists = new long[assists.length];
+            matchIds.clear();
+        }
+        
+        void ensureHeroCapacity(int heroId) {
+            if (heroId < picks.length) {
+                return;
+            }
+            int capacity = Math.max(heroId + 1, picks.length * 2);
+            picks = Arrays.copyOf(picks, capacity);
+            wins = Arrays.copyOf(wins, capacity);
+            kills = Arrays.copyOf(kills, capacity);
+            deaths = Arrays.copyOf(deaths, capacity);
+            assists = Arrays.copyOf(assists, capacity);
+        }
+    }
+    
+    /**
+     * 기간 합산 결과
+     */
+    private static class Totals {
+        int matches;
+        int[] picks = new int[0];
+        int[] wins = new int[0];
+        long[] kills = new long[0];
+        long[] deaths = new long[0];
+        long[] assists = new long[0];
+        
+        void add(Totals other) {
+            matches += other.matches;
+            ensure(other.picks.length);
+            for (int h = 0; h < other.picks.length; h++) {
+                picks[h] += other.picks[h];
+                wins[h] += other.wins[h];
+                kills[h] += other.kills[h];
+                deaths[h] += other.deaths[h];
+                assists[h] += other.assists[h];
+            }
+        }
+        
+        void add(DayBucket bucket) {
+            matches += bucket.matches;
+            ensure(bucket.picks.length);
+            for (int h = 0; h < bucket.picks.length; h++) {
+                picks[h] += bucket.picks[h];
+                wins[h] += bucket.wins[h];
+                kills[h] += bucket.kills[h];
+                deaths[h] += bucket.deaths[h];
+                assists[h] += bucket.assists[h];
+            }
+        }
+        
+        private void ensure(int length) {
+            if (picks.length < length) {
+                picks = Arrays.copyOf(picks, length);
+                wins = Arrays.copyOf(wins, length);
+                kills = Arrays.copyOf(kills, length);
+                deaths = Arrays.copyOf(deaths, length);
+                assists = Arrays.copyOf(assists, length);
+            }
+        }
+    }
+    
+    /**
+     * 버킷 범위를 반으로 나눠 병렬 합산
+     */
+    private static class BucketSumTask extends RecursiveTask<Totals> {
+        private static final long serialVersionUID = 1L;
+        
+        private final DayBucket[] buckets;
+        private final int from;
+        private final int to;
+        private final long minDay;
+        private final long maxDay;
+        
+        BucketSumTask(DayBucket[] buckets, int from, int to, long minDay, long maxDay) {
+            this.buckets = buckets;
+            this.from = from;
+            this.to = to;
+            this.minDay = minDay;
+            this.maxDay = maxDay;
+        }
+        
+        @Override
+        protected Totals compute() {
+            if (to - from <= AGGREGATION_THRESHOLD) {
+                Totals totals = new Totals();
+                for (int i = from; i < to; i++) {
+                    DayBucket bucket = buckets[i];
+                    synchronized (bucket) {
+                        if (bucket.day >= minDay && bucket.day <= maxDay) {
+                            totals.add(bucket);
+                        }
+                    }
+                }
+                return totals;
+            }
+            
+            int mid = (from + to) >>> 1;
+            BucketSumTask left = new BucketSumTask(buckets, from, mid, minDay, maxDay);
+            left.fork();
+            Totals right = new BucketSumTask(buckets, mid, to, minDay, maxDay).compute();
+            Totals totals = left.join();
+            totals.add(right);
+            return totals;
+        }
+    }
+    
+    @PostConstruct
+    public void init() {
+        buckets = new DayBucket[retentionDays];
+        for (int i = 0; i < retentionDays; i++) {
+            buckets[i] = new DayBucket();
+        }
+        logger.info("HeroMetaService initialized with {} day buckets", retentionDays);
+    }
+    
+    /**
+     * 매치 한 건의 전체 플레이어 행 반영 (이미 반영된 match_id나 보관 기간 밖의 매치는 무시)
+     */
+    public void ingest(MatchRecord record) {
+        if (record == null || record.getStartTime() <= 0) {
+            return;
+        }
+        
+        long day = record.getStartTime() / SECONDS_PER_DAY;
+        long today = System.currentTimeMillis() / 1000 / SECONDS_PER_DAY;
+        if (day <= today - retentionDays || day > today) {
+            return;
+        }
+        
+        DayBucket bucket = buckets[(int) (day % retentionDays)];
+        synchronized (bucket) {
+            if (bucket.day != day) {
+                if (bucket.day > day) {
+                    return; // 더 최근 날짜가 이미 이 슬롯을 사용 중
+                }
+                bucket.reset(day);
+            }
+            if (!bucket.matchIds.add(record.getMatchId())) {
+                return;
+            }
+            
+            bucket.matches++;
+            int[] heroIds = record.getHeroIds();
+            for (int i = 0; i < record.playerCount(); i++) {
+                int heroId = heroIds[i];
+                if (heroId <= 0 || heroId > MAX_HERO_ID) {
+                    continue;
+                }
+                bucket.ensureHeroCapacity(heroId);
+                bucket.picks[heroId]++;
+                if (record.isWinner(i)) {
+                    bucket.wins[heroId]++;
+                }
+                bucket.kills[heroId] += record.getKills()[i];
+                bucket.deaths[heroId] += record.getDeaths()[i];
+                bucket.assists[heroId] += record.getAssists()[i];
+            }
+        }
+    }
+    
+    /**
+     * 최근 N일간 영웅별 픽률/승률/평균 KDA (픽 수 내림차순)
+     */
+    public Map<String, Object> getHeroMeta(int days) {
+        int window = Math.max(1, Math.min(days, retentionDays));
+        long today = System.currentTimeMillis() / 1000 / SECONDS_PER_DAY;
+        long minDay = today - window + 1;
+        
+        Totals totals = ForkJoinPool.commonPool().invoke(new BucketSumTask(buckets, 0, buckets.length, minDay, today));
+        
+        List<Map<String, Object>> heroes = new ArrayList<>();
+        for (int heroId = 0; heroId < totals.picks.length; heroId++) {
+            int picks = totals.picks[heroId];
+            if (picks == 0) {
+                continue;
+            }
+            long deaths = totals.deaths[heroId];
+            double kda = deaths > 0 ? (double) (totals.kills[heroId] + totals.assists[heroId]) / deaths
+                                    : totals.kills[heroId] + totals.assists[heroId];
+            
+            Map<String, Object> hero = new HashMap<>();
+            hero.put("heroId", heroId);
+            hero.put("picks", picks);
+            hero.put("wins", totals.wins[heroId]);
+            hero.put("pickRate", round(totals.matches > 0 ? (double) picks / totals.matches * 100 : 0.0));
+            hero.put("winRate", round((double) totals.wins[heroId] / picks * 100));
+            hero.put("avgKills", round((double) totals.kills[heroId] / picks));
+            hero.put("avgDeaths", round((double) deaths / picks));
+            hero.put("avgAssists", round((double) totals.assists[heroId] / picks));
+            hero.put("avgKDA", round(kda));
+            heroes.add(hero);
+        }
+        heroes.sort((a, b) -> Integer.compare((Integer) b.get("picks"), (Integer) a.get("picks")));
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("days", window);
+        result.put("totalMatches", totals.matches);
+        result.put("heroes", heroes);
+        return result;
+    }
+    
+    private double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
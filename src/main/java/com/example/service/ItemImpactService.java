@@ -0,0 +1,220 @@
+package com.example.service;
+
+import com.example.model.MatchRecord;
+import com.example.model.PlayerHistory;
+import com.example.model.SteamId;
+import com.example.util.LongIntHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 플레이어 아이템 영향 분석
+ * 메타데이터가 저장된 매치의 최종 빌드를 밀집 아이템 인덱스 기준 비트셋으로 인코딩한다.
+ * 아이템마다 "이 아이템을 가진 매치" 비트셋(비트 위치 = 분석 대상 매치 순번)을 두고 승리 매치 비트셋과
+ * AND 후 popcount 하여, 아이템 단독/조합의 매치 수와 승수를 매치 수/64 워드 연산으로 구한다.
+ */
+@Service
+public class ItemImpactService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemImpactService.class);
+
+    @Autowired
+    private DeadlockService deadlockService;
+
+    @Autowired
+    private MatchRecordStore matchRecordStore;
+
+    /** 분석 대상 매치의 아이템별 비트셋 (아이템 ID → 밀집 인덱스) */
+    private static class BuildIndex {
+        final LongIntHashMap index = new LongIntHashMap(128);
+        final int words;
+        long[] itemIds = new long[128];
+        long[][] itemMatches = new long[128][];
+        final long[] winMatches;
+        int items;
+        int matches;
+        int wins;
+
+        BuildIndex(int maxMatches) {
+            this.words = (maxMatches + 63) >>> 6;
+            this.winMatches = new long[words];
+        }
+
+        /**
+         * 매치 한 건의 최종 빌드 추가
+         */
+        void add(long[] build, boolean win) {
+            int m = matches++;
+            if (win) {
+                winMatches[m >>> 6] |= 1L << m;
+                wins++;
+            }
+            for (long itemId : build) {
+                int i = index.get(itemId, -1);
+                if (i < 0) {
+                    i = items++;
+                    if (i == itemIds.length) {
+                        itemIds = Arrays.copyOf(itemIds, i * 2);
+                        itemMatches = Arrays.copyOf(itemMatches, i * 2);
+                    }
+                    itemIds[i] = itemId;
+                    itemMatches[i] = new long[words];
+                    index.put(itemId, i);
+                }
+                itemMatches[i][m >>> 6] |= 1L << m;
+            }
+        }
+    }
+
+    /**
+     * 아이템별 보유/미보유 승률과 자주 함께 쓴 아이템 조합 승률
+     * minMatches 미만으로 사용한 아이템은 결과와 조합 계산에서 제외한다.
+     */
+    public Map<String, Object> getItemImpact(SteamId steamId, int minMatches, int pairLimit) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("steamId", steamId.toString());
+
+        PlayerHistory history = deadlockService.getPlayerHistory(steamId);
+        if (history == null) {
+            result.put("totalMatches", 0);
+            result.put("analyzedMatches", 0);
+            result.put("items", new ArrayList<>());
+            result.put("pairs", new ArrayList<>());
+            return result;
+        }
+
+        long accountId = steamId.getAccountId();
+        BuildIndex builds = new BuildIndex(history.size());
+        for (int m = 0; m < history.size(); m++) {
+            MatchRecord record = matchRecordStore.get(history.getMatchIds()[m]);
+            if (record == null || record.getFinalItems() == null) {
+                continue;
+            }
+            int me = record.indexOf(accountId);
+            if (me < 0 || record.getFinalItems()[me] == null) {
+                continue;
+            }
+            // 메타데이터에 승리 팀이 없으면 히스토리의 승패 사용
+            boolean win = record.getWinningTeam() >= 0 ? record.isWinner(me) : history.getWins()[m];
+            builds.add(record.getFinalItems()[me], win);
+        }
+
+        // 최소 사용 횟수를 넘는 아이템만 선별
+        int[] eligible = new int[builds.items];
+        int[] itemCounts = new int[builds.items];
+        int[] itemWins = new int[builds.items];
+        int eligibleCount = 0;
+        for (int i = 0; i < builds.items; i++) {
+            itemCounts[i] = popcount(builds.itemMatches[i]);
+            if (itemCounts[i] >= minMatches) {
+                itemWins[i] = popcountAnd(builds.itemMatches[i], builds.winMatches);
+                eligible[eligibleCount++] = i;
+            }
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>(eligibleCount);
+        for (int e = 0; e < eligibleCount; e++) {
+            int i = eligible[e];
+            int withoutMatches = builds.matches - itemCounts[i];
+            int withoutWins = builds.wins - itemWins[i];
+
+            Map<String, Object> item = itemInfo(builds.itemIds[i]);
+            item.put("matches", itemCounts[i]);
+            item.put("wins", itemWins[i]);
+            item.put("winRate", winRate(itemWins[i], itemCounts[i]));
+            item.put("withoutMatches", withoutMatches);
+            item.put("withoutWins", withoutWins);
+            item.put("withoutWinRate", winRate(withoutWins, withoutMatches));
+            // 모든 매치에서 사용한 아이템은 비교 대상이 없음
+            item.put("winRateDelta", withoutMatches > 0
+                    ? round(winRate(itemWins[i], itemCounts[i]) - winRate(withoutWins, withoutMatches)) : null);
+            items.add(item);
+        }
+        items.sort((a, b) -> Integer.compare((Integer) b.get("matches"), (Integer) a.get("matches")));
+
+        // 조합: 두 아이템 비트셋의 교집합 popcount
+        List<int[]> pairCounts = new ArrayList<>();
+        for (int a = 0; a < eligibleCount; a++) {
+            long[] left = builds.itemMatches[eligible[a]];
+            for (int b = a + 1; b < eligibleCount; b++) {
+                long[] right = builds.itemMatches[eligible[b]];
+                int together = popcountAnd(left, right);
+                if (together >= minMatches) {
+                    pairCounts.add(new int[]{eligible[a], eligible[b], together, popcountAnd3(left, right, builds.winMatches)});
+                }
+            }
+        }
+        pairCounts.sort((x, y) -> Integer.compare(y[2], x[2]));
+
+        List<Map<String, Object>> pairs = new ArrayList<>();
+        for (int[] pair : pairCounts.subList(0, Math.min(pairLimit, pairCounts.size()))) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("items", List.of(itemInfo(builds.itemIds[pair[0]]), itemInfo(builds.itemIds[pair[1]])));
+            entry.put("matches", pair[2]);
+            entry.put("wins", pair[3]);
+            entry.put("winRate", winRate(pair[3], pair[2]));
+            pairs.add(entry);
+        }
+
+        logger.debug("Item impact for {}: analyzed {} of {} matches, {} distinct items, {} eligible, {} pairs",
+                    steamId, builds.matches, history.size(), builds.items, eligibleCount, pairCounts.size());
+
+        result.put("totalMatches", history.size());
+        result.put("analyzedMatches", builds.matches);
+        result.put("analyzedWins", builds.wins);
+        result.put("winRate", winRate(builds.wins, builds.matches));
+        result.put("distinctItems", builds.items);
+        result.put("minMatches", minMatches);
+        result.put("items", items);
+        result.put("pairs", pairs);
+        return result;
+    }
+
+    private Map<String, Object> itemInfo(long itemId) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("id", itemId);
+        item.put("name", deadlockService.getItemNameById(itemId));
+        item.put("image", deadlockService.getItemImageById(itemId));
+        return item;
+    }
+
+    private static int popcount(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static int popcountAnd(long[] a, long[] b) {
+        int count = 0;
+        for (int w = 0; w < a.length; w++) {
+            count += Long.bitCount(a[w] & b[w]);
+        }
+        return count;
+    }
+
+    private static int popcountAnd3(long[] a, long[] b, long[] c) {
+        int count = 0;
+        for (int w = 0; w < a.length; w++) {
+            count += Long.bitCount(a[w] & b[w] & c[w]);
+        }
+        return count;
+    }
+
+    private double winRate(int wins, int matches) {
+        return matches > 0 ? round((double) wins / matches * 100) : 0.0;
+    }
+
+    private double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
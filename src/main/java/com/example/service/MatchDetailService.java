@@ -0,0 +1,114 @@
+package com.example.service;
+
+import com.example.model.MatchRecord;
+import com.example.model.SteamId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 매치 상세 (12명 전체 스코어보드)
+ * 프로필 로드 때 이미 저장된 MatchRecord로 구성하므로 대부분 업스트림 호출 없이 응답하며,
+ * 저장소에 없는 매치만 메타데이터를 한 번 조회한다. 플레이어 이름은 한 번에 묶어서 조회한다.
+ */
+@Service
+public class MatchDetailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchDetailService.class);
+
+    @Autowired
+    private DeadlockService deadlockService;
+
+    @Autowired
+    private SteamService steamService;
+
+    /**
+     * 매치 스코어보드 (매치 정보를 구할 수 없으면 null)
+     */
+    public Map<String, Object> getScoreboard(long matchId) {
+        MatchRecord record = deadlockService.getMatchRecord(matchId);
+        if (record == null) {
+            logger.debug("No match record available for match {}", matchId);
+            return null;
+        }
+
+        List<SteamId> steamIds = new ArrayList<>();
+        for (long accountId : record.getAccountIds()) {
+            if (accountId != 0) {
+                steamIds.add(SteamId.ofAccountId(accountId));
+            }
+        }
+        Map<SteamId, Map<String, Object>> users = steamService.getUserInfos(steamIds);
+
+        if (users.size() < steamIds.size()) {
+            logger.debug("Resolved {} of {} player names for match {}", users.size(), steamIds.size(), matchId);
+        }
+
+        List<Map<String, Object>> players = new ArrayList<>(record.playerCount());
+        for (int i = 0; i < record.playerCount(); i++) {
+            players.add(toPlayerRow(record, i, users));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("matchId", String.valueOf(record.getMatchId()));
+        result.put("startTime", record.getStartTime() * 1000); // 초를 밀리초로
+        result.put("durationS", record.getDurationS());
+        result.put("winningTeam", record.getWinningTeam());
+        result.put("players", players);
+        // 이름 조회에 실패한 플레이어는 account ID로 표시됨
+        result.put("namesResolved", users.size() >= steamIds.size());
+        return result;
+    }
+
+    private Map<String, Object> toPlayerRow(MatchRecord record, int i, Map<SteamId, Map<String, Object>> users) {
+        long accountId = record.getAccountIds()[i];
+        int heroId = record.getHeroIds()[i];
+        int kills = record.getKills()[i];
+        int deaths = record.getDeaths()[i];
+        int assists = record.getAssists()[i];
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("accountId", accountId);
+        if (accountId != 0) {
+            SteamId steamId = SteamId.ofAccountId(accountId);
+            Map<String, Object> user = users.get(steamId);
+            row.put("steamId", steamId.toString());
+            row.put("personaName", user != null ? user.get("personaName") : String.valueOf(accountId));
+            row.put("avatar", user != null ? user.get("avatar") : "");
+        } else {
+            // 비공개 프로필은 account ID가 없음
+            row.put("personaName", "Anonymous");
+            row.put("avatar", "");
+        }
+        row.put("team", record.getTeams()[i]);
+        row.put("isWinner", record.isWinner(i));
+        row.put("heroId", heroId);
+        row.put("hero", deadlockService.getHeroNameById(heroId));
+        row.put("heroImage", deadlockService.getHeroImageById(heroId));
+        row.put("kills", kills);
+        row.put("deaths", deaths);
+        row.put("assists", assists);
+        row.put("kda", Math.round((double) (kills + assists) / Math.max(1, deaths) * 100.0) / 100.0);
+        row.put("netWorth", record.getNetWorths()[i]);
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        long[] itemIds = record.getFinalItems()[i];
+        if (itemIds != null) {
+            for (long itemId : itemIds) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("id", itemId);
+                item.put("name", deadlockService.getItemNameById(itemId));
+                item.put("image", deadlockService.getItemImageById(itemId));
+                items.add(item);
+            }
+        }
+        row.put("items", items);
+        return row;
+    }
+}
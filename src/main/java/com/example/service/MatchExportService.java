@@ -0,0 +1,106 @@
+package com.example.service;
+
+import com.example.model.PlayerHistory;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 플레이어 전체 매치 히스토리 내보내기 (CSV / NDJSON)
+ * 캐시된 열 단위 히스토리를 한 행씩 출력 스트림에 바로 쓰므로 응답 본문을 메모리에 모으지 않는다.
+ * 히스토리 자체는 match-history 응답 전체를 파싱한 뒤 만들어지므로 메모리 사용량은 매치 수에 비례한다
+ * (JSON 트리 없이 매치당 약 45바이트의 기본형 배열).
+ */
+@Service
+public class MatchExportService {
+
+    private static final String CSV_HEADER =
+            "match_id,start_time,duration_s,hero_id,hero,team,result,kills,deaths,assists,net_worth";
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Autowired
+    private DeadlockService deadlockService;
+
+    /**
+     * CSV 형식으로 최신 매치부터 출력
+     */
+    public void writeCsv(PlayerHistory history, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        for (int i = history.size() - 1; i >= 0; i--) {
+            writer.write(Long.toString(history.getMatchIds()[i]));
+            writer.write(',');
+            writer.write(Long.toString(history.getStartTimes()[i]));
+            writer.write(',');
+            writer.write(Integer.toString(history.getDurations()[i]));
+            writer.write(',');
+            writer.write(Integer.toString(history.getHeroIds()[i]));
+            writer.write(',');
+            writer.write(escapeCsv(deadlockService.getHeroNameById(history.getHeroIds()[i])));
+            writer.write(',');
+            writer.write(Integer.toString(history.getTeams()[i]));
+            writer.write(',');
+            writer.write(history.getWins()[i] ? "WIN" : "LOSS");
+            writer.write(',');
+            writer.write(Integer.toString(history.getKills()[i]));
+            writer.write(',');
+            writer.write(Integer.toString(history.getDeaths()[i]));
+            writer.write(',');
+            writer.write(Integer.toString(history.getAssists()[i]));
+            writer.write(',');
+            writer.write(Integer.toString(history.getNetWorths()[i]));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * NDJSON 형식(매치당 JSON 한 줄)으로 최신 매치부터 출력
+     */
+    public void writeNdjson(PlayerHistory history, OutputStream out) throws IOException {
+        try (JsonGenerator gen = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            // 응답 스트림은 서블릿 컨테이너가 닫음
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);
+
+            for (int i = history.size() - 1; i >= 0; i--) {
+                gen.writeStartObject();
+                gen.writeStringField("matchId", Long.toString(history.getMatchIds()[i]));
+                gen.writeNumberField("startTime", history.getStartTimes()[i] * 1000); // 초를 밀리초로
+                gen.writeNumberField("durationS", history.getDurations()[i]);
+                gen.writeNumberField("heroId", history.getHeroIds()[i]);
+                gen.writeStringField("hero", deadlockService.getHeroNameById(history.getHeroIds()[i]));
+                gen.writeNumberField("team", history.getTeams()[i]);
+                gen.writeStringField("result", history.getWins()[i] ? "WIN" : "LOSS");
+                gen.writeNumberField("kills", history.getKills()[i]);
+                gen.writeNumberField("deaths", history.getDeaths()[i]);
+                gen.writeNumberField("assists", history.getAssists()[i]);
+                gen.writeNumberField("netWorth", history.getNetWorths()[i]);
+                gen.writeEndObject();
+                gen.writeRaw('\n');
+            }
+        }
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.service;
+
+import com.example.model.MatchRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 이미 내려받은 매치 메타데이터(12명 전원)의 압축 레코드 저장소
+ * 매치 결과는 바뀌지 않으므로 TTL 없이 최근 사용 순으로 개수만 제한한다.
+ */
+@Service
+public class MatchRecordStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchRecordStore.class);
+
+    @Value("${match.record.store.max.entries:20000}")
+    private int maxEntries;
+
+    private Map<Long, MatchRecord> records;
+
+    @PostConstruct
+    public void init() {
+        this.records = new LinkedHashMap<Long, MatchRecord>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MatchRecord> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        logger.info("MatchRecordStore initialized: maxEntries={}", maxEntries);
+    }
+
+    public synchronized void put(MatchRecord record) {
+        records.put(record.getMatchId(), record);
+    }
+
+    /**
+     * match ID로 레코드 조회 (없으면 null)
+     */
+    public synchronized MatchRecord get(long matchId) {
+        return records.get(matchId);
+    }
+
+    public synchronized int size() {
+        return records.size();
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.service;
+
+import com.example.model.SteamId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 최근 활동한 플레이어의 매치 데이터를 캐시 만료 전에 미리 갱신하는 스케줄러
+ */
+@Service
+public class PlayerRefreshScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PlayerRefreshScheduler.class);
+    
+    @Autowired
+    private DeadlockService deadlockService;
+    
+    @Value("${refresh.scheduler.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${refresh.scheduler.interval.seconds:30}")
+    private int intervalSeconds;
+    
+    @Value("${refresh.active.window.seconds:1800}")
+    private int activeWindowSeconds;
+    
+    @Value("${refresh.ahead.seconds:60}")
+    private int refreshAheadSeconds;
+    
+    @Value("${refresh.jitter.seconds:20}")
+    private int jitterSeconds;
+    
+    @Value("${refresh.max.concurrency:2}")
+    private int maxConcurrency;
+    
+    @Value("${refresh.budget.per.minute:30}")
+    private int budgetPerMinute;
+    
+    @Value("${refresh.max.active.players:10000}")
+    private int maxActivePlayers;
+    
+    private ScheduledExecutorService scheduler;
+    private Semaphore concurrencyLimit;
+    
+    // Steam ID -> 마지막 활동 시각
+    private final Map<SteamId, Long> activePlayers = new ConcurrentHashMap<>();
+    // 갱신이 예약되어 아직 실행되지 않은 Steam ID
+    private final Set<SteamId> scheduledRefreshes = ConcurrentHashMap.newKeySet();
+    
+    private final AtomicInteger budgetUsed = new AtomicInteger();
+    private volatile long budgetWindowStart = System.currentTimeMillis();
+    
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            logger.info("PlayerRefreshScheduler disabled");
+            return;
+        }
+        
+        AtomicInteger threadCount = new AtomicInteger();
+        this.concurrencyLimit = new Semaphore(maxConcurrency);
+        this.scheduler = Executors.newScheduledThreadPool(maxConcurrency + 1, runnable -> {
+            Thread thread = new Thread(runnable, "player-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::tick, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        
+        logger.info("PlayerRefreshScheduler started: interval={}s, ahead={}s, concurrency={}, budget={}/min, maxActive={}",
+                   intervalSeconds, refreshAheadSeconds, maxConcurrency, budgetPerMinute, maxActivePlayers);
+    }
+    
+    @PreDestroy
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+    
+    /**
+     * 플레이어 활동 기록 (로그인, 프로필 조회 시 호출)
+     * 추적 인원이 한도에 이르면 새 플레이어는 활동 구간이 지나 정리될 때까지 기록하지 않는다.
+     */
+    public void recordActivity(SteamId steamId) {
+        if (steamId == null) {
+            return;
+        }
+        if (activePlayers.size() >= maxActivePlayers && !activePlayers.containsKey(steamId)) {
+            logger.debug("Active player limit ({}) reached, not tracking Steam ID: {}", maxActivePlayers, steamId);
+            return;
+        }
+        activePlayers.put(steamId, System.currentTimeMillis());
+    }
+    
+    public int getActivePlayerCount() {
+        return activePlayers.size();
+    }
+    
+    /**
+     * 주기적으로 활동 중인 플레이어를 훑어 곧 만료될 캐시의 갱신을 예약
+     */
+    private void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            long activeSince = now - activeWindowSeconds * 1000L;
+            long refreshBefore = now + refreshAheadSeconds * 1000L;
+            // 예산은 실제 갱신 시 차감하므로 여기서는 남은 예산만큼만 예약
+            int available = remainingBudget(now);
+            int scheduled = 0;
+            
+            Iterator<Map.Entry<SteamId, Long>> iterator = activePlayers.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<SteamId, Long> entry = iterator.next();
+                if (entry.getValue() < activeSince) {
+                    iterator.remove();
+                    continue;
+                }
+                
+                SteamId steamId = entry.getKey();
+                long expireTime = deadlockService.getMatchCacheExpireTime(steamId);
+                // 캐시된 데이터가 없으면(조회 실패, 매치 없음) 갱신 대상이 아님 - 다음 조회 때 직접 적재됨
+                if (expireTime == 0L || expireTime > refreshBefore || scheduledRefreshes.contains(steamId)) {
+                    continue;
+                }
+                
+                if (scheduled >= available) {
+                    logger.debug("Refresh budget exhausted, deferring remaining players to next tick");
+                    break;
+                }
+                
+                // 여러 플레이어의 갱신이 한 번에 몰리지 않도록 지터 적용
+                long delayMillis = jitterSeconds > 0 ? ThreadLocalRandom.current().nextLong(jitterSeconds * 1000L) : 0L;
+                scheduledRefreshes.add(steamId);
+                scheduler.schedule(() -> refresh(steamId), delayMillis, TimeUnit.MILLISECONDS);
+                scheduled++;
+            }
+            
+            if (scheduled > 0) {
+                logger.debug("Scheduled {} background refreshes ({} active players)", scheduled, activePlayers.size());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error in player refresh tick", e);
+        }
+    }
+    
+    private void refresh(SteamId steamId) {
+        try {
+            if (!concurrencyLimit.tryAcquire()) {
+                // 동시 실행 한도 초과 - 다음 주기에 다시 예약됨
+                logger.debug("Refresh concurrency limit reached, skipping Steam ID: {}", steamId);
+                return;
+            }
+            try {
+                if (!tryConsumeBudget(System.currentTimeMillis())) {
+                    logger.debug("Refresh budget exhausted, skipping Steam ID: {}", steamId);
+                    return;
+                }
+                long started = System.currentTimeMillis();
+                if (deadlockService.refreshPlayerData(steamId)) {
+                    logger.debug("Background refresh for Steam ID: {} took {}ms", steamId, System.currentTimeMillis() - started);
+                }
+            } finally {
+                concurrencyLimit.release();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Background refresh failed for Steam ID: {}", steamId, e);
+        } finally {
+            scheduledRefreshes.remove(steamId);
+        }
+    }
+    
+    /**
+     * 분당 전역 갱신 요청 예산 차감 (실제로 요청을 보낼 때만 호출)
+     */
+    private boolean tryConsumeBudget(long now) {
+        resetBudgetWindow(now);
+        if (budgetUsed.incrementAndGet() <= budgetPerMinute) {
+            return true;
+        }
+        budgetUsed.decrementAndGet();
+        return false;
+    }
+    
+    private int remainingBudget(long now) {
+        resetBudgetWindow(now);
+        return Math.max(0, budgetPerMinute - budgetUsed.get());
+    }
+    
+    private void resetBudgetWindow(long now) {
+        if (now - budgetWindowStart >= 60_000L) {
+            budgetWindowStart = now;
+            budgetUsed.set(0);
+        }
+    }
+}
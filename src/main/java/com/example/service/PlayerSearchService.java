@@ -0,0 +1,113 @@
+package com.example.service;
+
+import com.example.model.SteamId;
+import com.example.util.PersonaPrefixIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 플레이어 이름 검색 (자동 완성)
+ * Steam API에는 이름 검색이 없으므로, 이 서버가 조회한 모든 페르소나 이름을 메모리 접두어 색인에 모아 검색한다.
+ * 이름이 그대로인 경우가 대부분이라 읽기 잠금으로 먼저 확인하고, 새 이름일 때만 쓰기 잠금을 잡는다.
+ */
+@Service
+public class PlayerSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerSearchService.class);
+
+    @Value("${search.index.max.entries:200000}")
+    private int maxEntries;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private PersonaPrefixIndex index;
+    private volatile boolean fullLogged;
+
+    @PostConstruct
+    public void init() {
+        this.index = new PersonaPrefixIndex(maxEntries);
+        logger.info("PlayerSearchService initialized: maxEntries={}", maxEntries);
+    }
+
+    /**
+     * 조회된 페르소나 이름 반영
+     */
+    public void record(SteamId steamId, String personaName) {
+        if (steamId == null || personaName == null) {
+            return;
+        }
+        long accountId = steamId.getAccountId();
+
+        lock.readLock().lock();
+        try {
+            if (index.isCurrent(accountId, personaName)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        PersonaPrefixIndex.PutResult result;
+        lock.writeLock().lock();
+        try {
+            result = index.put(accountId, personaName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // 다른 스레드가 먼저 같은 이름을 넣은 경우(UNCHANGED)는 가득 찬 것이 아님
+        if (result == PersonaPrefixIndex.PutResult.FULL && !fullLogged) {
+            fullLogged = true;
+            logger.warn("Persona index is full ({} players), new players are no longer indexed", maxEntries);
+        }
+    }
+
+    /**
+     * 이름 접두어 검색 (Steam ID를 입력하면 해당 ID를 첫 결과로 포함)
+     */
+    public List<Map<String, Object>> search(String query, int limit) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        if (query == null || query.trim().isEmpty()) {
+            return results;
+        }
+
+        SteamId exact = SteamId.tryParse(query.trim());
+        List<PersonaPrefixIndex.Hit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (exact != null) {
+            results.add(toResult(exact, null));
+        }
+        for (PersonaPrefixIndex.Hit hit : hits) {
+            if (results.size() >= limit) {
+                break;
+            }
+            SteamId steamId = SteamId.ofAccountId(hit.getAccountId());
+            if (!steamId.equals(exact)) {
+                results.add(toResult(steamId, hit.getName()));
+            }
+        }
+        return results;
+    }
+
+    private Map<String, Object> toResult(SteamId steamId, String personaName) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("steamId", steamId.toString());
+        result.put("accountId", steamId.getAccountId());
+        result.put("personaName", personaName);
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.service;
+
+import com.example.model.SteamId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 공개 플레이어 프로필 (/players/{steamId})
+ * 데이터는 세션이 아닌 플레이어 기준으로 키가 정해진 공유 캐시에서 제공하므로
+ * 인기 플레이어는 한 번 조회한 결과를 모든 방문자가 함께 사용한다.
+ * 응답에는 리버스 프록시가 캐시할 수 있도록 Cache-Control 값을 함께 내려준다.
+ */
+@Service
+public class PublicProfileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicProfileService.class);
+
+    @Value("${players.public.cache.max.age.seconds:30}")
+    private int maxAgeSeconds;
+
+    @Value("${players.public.cache.shared.max.age.seconds:180}")
+    private int sharedMaxAgeSeconds;
+
+    @Value("${players.public.cache.stale.seconds:60}")
+    private int staleSeconds;
+
+    @Autowired
+    private SteamService steamService;
+
+    @PostConstruct
+    public void init() {
+        logger.info("PublicProfileService initialized: {}", getCacheControl());
+    }
+
+    /**
+     * 프로필 헤더용 사용자 정보 (degraded면 캐시만 사용, 조회되지 않으면 Steam ID만 채운 기본값 - isFallback으로 구분)
+     */
+    public Map<String, Object> getPlayer(SteamId steamId, boolean degraded) {
+        Map<String, Object> userInfo = degraded ? steamService.getCachedUserInfo(steamId) : steamService.getUserInfo(steamId);
+        if (userInfo != null) {
+            return userInfo;
+        }
+
+        Map<String, Object> fallback = new HashMap<>();
+        fallback.put("steamId", steamId.toString());
+        fallback.put("personaName", steamId.toString());
+        fallback.put("avatarFull", "");
+        fallback.put("avatar", "");
+        fallback.put("fallback", true);
+        return fallback;
+    }
+
+    /**
+     * getPlayer가 조회 실패로 기본값을 반환했는지
+     */
+    public boolean isFallback(Map<String, Object> player) {
+        return Boolean.TRUE.equals(player.get("fallback"));
+    }
+
+    /**
+     * 공유 캐시 가능한 응답의 Cache-Control (s-maxage는 프록시, max-age는 브라우저 기준)
+     */
+    public String getCacheControl() {
+        return String.format("public, max-age=%d, s-maxage=%d, stale-while-revalidate=%d",
+                maxAgeSeconds, sharedMaxAgeSeconds, staleSeconds);
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.service;
+
+import com.example.model.SteamId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 로그인 상태 관리 서비스
+ * session 모드는 컨테이너 HttpSession을, stateless 모드는 HMAC 서명 쿠키를 사용한다.
+ * stateless 모드에서는 서버 측 조회 없이 쿠키 서명만으로 로그인 여부를 확인하므로
+ * 여러 노드에 세션 복제나 sticky session 없이 분산할 수 있다.
+ */
+@Service
+public class SessionTokenService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SessionTokenService.class);
+    
+    public static final String COOKIE_NAME = "DLSESSION";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final byte TOKEN_VERSION = 1;
+    
+    @Value("${auth.session.mode:session}")
+    private String sessionMode;
+    
+    @Value("${auth.token.secret:}")
+    private String tokenSecret;
+    
+    @Value("${auth.token.ttl.seconds:604800}")
+    private long tokenTtlSeconds;
+    
+    @Value("${auth.token.cookie.secure:false}")
+    private boolean secureCookie;
+    
+    private SecretKeySpec signingKey;
+    
+    @PostConstruct
+    public void init() {
+        byte[] keyBytes;
+        if (tokenSecret == null || tokenSecret.trim().isEmpty()) {
+            // 노드마다 다른 키가 생성되므로 다중 노드 배포에서는 반드시 auth.token.secret 설정 필요
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            if (isStateless()) {
+                logger.warn("auth.token.secret is not set - using a random per-node key, tokens will not be valid across nodes or restarts");
+            }
+        } else {
+            keyBytes = tokenSecret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.signingKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        
+        logger.info("SessionTokenService initialized: mode={}, ttl={}s", sessionMode, tokenTtlSeconds);
+    }
+    
+    public boolean isStateless() {
+        return "stateless".equalsIgnoreCase(sessionMode);
+    }
+    
+    /**
+     * 로그인 성공 시 로그인 상태 저장 (세션 또는 서명 쿠키)
+     */
+    public void login(HttpServletRequest request, HttpServletResponse response,
+                      SteamId steamId, Map<String, Object> userInfo) {
+        if (isStateless()) {
+            Cookie cookie = new Cookie(COOKIE_NAME, issueToken(steamId.toString(), userInfo));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setSecure(secureCookie);
+            cookie.setMaxAge((int) tokenTtlSeconds);
+            response.addCookie(cookie);
+        } else {
+            HttpSession session = request.getSession();
+            session.setAttribute("user", userInfo);
+            session.setAttribute("steamId", steamId.toString());
+            session.setAttribute("isLoggedIn", true);
+        }
+    }
+    
+    /**
+     * 로그아웃 - 세션 무효화 및 쿠키 삭제
+     */
+    public void logout(HttpServletRequest request, HttpServletResponse response) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.invalidate();
+        }
+        
+        Cookie cookie = new Cookie(COOKIE_NAME, "");
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setSecure(secureCookie);
+        cookie.setMaxAge(0);
+        response.addCookie(cookie);
+    }
+    
+    /**
+     * 요청에서 로그인 정보 조회 (steamId, user) - 로그인하지 않았으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> resolve(HttpServletRequest request) {
+        if (isStateless()) {
+            Cookie[] cookies = request.getCookies();
+            if (cookies != null) {
+                for (Cookie cookie : cookies) {
+                    if (COOKIE_NAME.equals(cookie.getName())) {
+                        return verifyToken(cookie.getValue());
+                    }
+                }
+            }
+            return null;
+        }
+        
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return null;
+        }
+        Boolean isLoggedIn = (Boolean) session.getAttribute("isLoggedIn");
+        if (isLoggedIn == null || !isLoggedIn) {
+            return null;
+        }
+        
+        Map<String, Object> principal = new HashMap<>();
+        principal.put("steamId", session.getAttribute("steamId"));
+        principal.put("user", session.getAttribute("user"));
+        return principal;
+    }
+    
+    /**
+     * 서명 토큰 발급: base64url(payload).base64url(HMAC-SHA256(payload))
+     * payload에는 Steam ID, 만료 시각, 화면 표시에 필요한 최소한의 프로필 정보만 담는다.
+     */
+    String issueToken(String steamId, Map<String, Object> userInfo) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(TOKEN_VERSION);
+                out.writeUTF(steamId);
+                out.writeLong(System.currentTimeMillis() / 1000 + tokenTtlSeconds);
+                out.writeUTF(stringValue(userInfo, "steamId"));
+                out.writeUTF(stringValue(userInfo, "personaName"));
+                out.writeUTF(stringValue(userInfo, "avatar"));
+                out.writeUTF(stringValue(userInfo, "avatarFull"));
+                out.writeUTF(stringValue(userInfo, "profileUrl"));
+            }
+            byte[] payload = bytes.toByteArray();
+            
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            return encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload));
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to issue session token", e);
+        }
+    }
+    
+    /**
+     * 서명 토큰 검증 - 서명이 맞지 않거나 만료되었으면 null
+     */
+    Map<String, Object> verifyToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            return null;
+        }
+        
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payload = decoder.decode(token.substring(0, separator));
+            byte[] signature = decoder.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                logger.debug("Rejected session token with invalid signature");
+                return null;
+            }
+            
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+                if (in.readByte() != TOKEN_VERSION) {
+                    return null;
+                }
+                String steamId = in.readUTF();
+                long expiresAt = in.readLong();
+                if (expiresAt < System.currentTimeMillis() / 1000) {
+                    return null;
+                }
+                
+                Map<String, Object> userInfo = new HashMap<>();
+                userInfo.put("steamId", in.readUTF());
+                userInfo.put("personaName", in.readUTF());
+                userInfo.put("avatar", in.readUTF());
+                userInfo.put("avatarFull", in.readUTF());
+                userInfo.put("profileUrl", in.readUTF());
+                
+                Map<String, Object> principal = new HashMap<>();
+                principal.put("steamId", steamId);
+                principal.put("user", userInfo);
+                return principal;
+            }
+        } catch (IllegalArgumentException | IOException | GeneralSecurityException e) {
+            logger.debug("Rejected malformed session token: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private byte[] sign(byte[] payload) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+        mac.init(signingKey);
+        return mac.doFinal(payload);
+    }
+    
+    private String stringValue(Map<String, Object> map, String key) {
+        Object value = map != null ? map.get(key) : null;
+        return value != null ? value.toString() : "";
+    }
+}
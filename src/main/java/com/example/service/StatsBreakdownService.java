@@ -0,0 +1,296 @@
+package com.example.service;
+
+import com.example.model.PlayerHistory;
+import com.example.model.SteamId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 플레이어 통계 다차원 분류 엔진
+ * 전체 match-history를 한 번만 순회하면서 요청된 차원(영웅/승패/시간대/요일/게임 시간/소울)별
+ * 그룹 인덱스를 계산하고, 차원마다 그룹 인덱스로 접근하는 기본형 누적 배열에 더한다.
+ * 영웅은 처음 등장한 순서로 밀집 인덱스를 부여하므로 hero ID 범위와 관계없이 배열 크기가 영웅 수만큼이다.
+ */
+@Service
+public class StatsBreakdownService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatsBreakdownService.class);
+
+    // 게임 시간 구간 경계 (분)
+    private static final int[] DURATION_EDGES_MIN = {20, 30, 40};
+    // 소울(net worth) 구간 경계
+    private static final int[] NET_WORTH_EDGES = {20000, 30000, 40000, 50000};
+
+    /** 분류 차원 */
+    public enum Dimension {
+        HERO("hero"),
+        RESULT("result"),
+        HOUR("hourOfDay"),
+        WEEKDAY("dayOfWeek"),
+        DURATION("duration"),
+        NET_WORTH("netWorth");
+
+        private final String key;
+
+        Dimension(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * 차원 이름 파싱 (대소문자 무시, 알 수 없으면 null)
+         */
+        public static Dimension fromKey(String key) {
+            for (Dimension dimension : values()) {
+                if (dimension.key.equalsIgnoreCase(key) || dimension.name().equalsIgnoreCase(key)) {
+                    return dimension;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Autowired
+    private DeadlockService deadlockService;
+
+    /** 그룹별 누적값 (배열 인덱스 = 그룹 인덱스) */
+    private static class Accumulator {
+        int[] matches;
+        int[] wins;
+        long[] kills;
+        long[] deaths;
+        long[] assists;
+        long[] netWorth;
+        long[] durationS;
+
+        Accumulator(int groups) {
+            matches = new int[groups];
+            wins = new int[groups];
+            kills = new long[groups];
+            deaths = new long[groups];
+            assists = new long[groups];
+            netWorth = new long[groups];
+            durationS = new long[groups];
+        }
+
+        void add(int group, PlayerHistory history, int m) {
+            if (group >= matches.length) {
+                grow(Math.max(group + 1, matches.length * 2));
+            }
+            matches[group]++;
+            if (history.getWins()[m]) {
+                wins[group]++;
+            }
+            kills[group] += history.getKills()[m];
+            deaths[group] += history.getDeaths()[m];
+            assists[group] += history.getAssists()[m];
+            netWorth[group] += history.getNetWorths()[m];
+            durationS[group] += history.getDurations()[m];
+        }
+
+        private void grow(int capacity) {
+            matches = Arrays.copyOf(matches, capacity);
+            wins = Arrays.copyOf(wins, capacity);
+            kills = Arrays.copyOf(kills, capacity);
+            deaths = Arrays.copyOf(deaths, capacity);
+            assists = Arrays.copyOf(assists, capacity);
+            netWorth = Arrays.copyOf(netWorth, capacity);
+            durationS = Arrays.copyOf(durationS, capacity);
+        }
+    }
+
+    /**
+     * 요청된 차원별 통계 (차원이 비어 있으면 전체 차원, 시간대/요일은 zone 기준)
+     * 조회 실패 시 null
+     */
+    public Map<String, Object> getBreakdown(SteamId steamId, Set<Dimension> dimensions, ZoneId zone) {
+        PlayerHistory history = deadlockService.getPlayerHistory(steamId);
+        if (history == null) {
+            return null;
+        }
+        Set<Dimension> requested = dimensions.isEmpty() ? EnumSet.allOf(Dimension.class) : dimensions;
+
+        // 영웅 밀집 인덱스 (hero ID → 처음 등장한 순서, 없으면 -1)
+        int[] heroIndex = new int[64];
+        Arrays.fill(heroIndex, -1);
+        int[] denseHeroIds = new int[16];
+        int heroCount = 0;
+
+        Accumulator total = new Accumulator(1);
+        Accumulator byHero = requested.contains(Dimension.HERO) ? new Accumulator(16) : null;
+        Accumulator byResult = requested.contains(Dimension.RESULT) ? new Accumulator(2) : null;
+        Accumulator byHour = requested.contains(Dimension.HOUR) ? new Accumulator(24) : null;
+        Accumulator byWeekday = requested.contains(Dimension.WEEKDAY) ? new Accumulator(7) : null;
+        Accumulator byDuration = requested.contains(Dimension.DURATION) ? new Accumulator(DURATION_EDGES_MIN.length + 1) : null;
+        Accumulator byNetWorth = requested.contains(Dimension.NET_WORTH) ? new Accumulator(NET_WORTH_EDGES.length + 1) : null;
+
+        for (int m = 0; m < history.size(); m++) {
+            total.add(0, history, m);
+
+            if (byHero != null) {
+                int heroId = Math.max(0, history.getHeroIds()[m]);
+                if (heroId >= heroIndex.length) {
+                    int oldLength = heroIndex.length;
+                    heroIndex = Arrays.copyOf(heroIndex, Math.max(heroId + 1, oldLength * 2));
+                    Arrays.fill(heroIndex, oldLength, heroIndex.length, -1);
+                }
+                int h = heroIndex[heroId];
+                if (h < 0) {
+                    h = heroCount++;
+                    if (h == denseHeroIds.length) {
+                        denseHeroIds = Arrays.copyOf(denseHeroIds, h * 2);
+                    }
+                    denseHeroIds[h] = heroId;
+                    heroIndex[heroId] = h;
+                }
+                byHero.add(h, history, m);
+            }
+            if (byResult != null) {
+                byResult.add(history.getWins()[m] ? 0 : 1, history, m);
+            }
+            if (byHour != null || byWeekday != null) {
+                ZonedDateTime time = Instant.ofEpochSecond(history.getStartTimes()[m]).atZone(zone);
+                if (byHour != null) {
+                    byHour.add(time.getHour(), history, m);
+                }
+                if (byWeekday != null) {
+                    byWeekday.add(time.getDayOfWeek().getValue() - 1, history, m);
+                }
+            }
+            if (byDuration != null) {
+                byDuration.add(bucketOf(history.getDurations()[m] / 60, DURATION_EDGES_MIN), history, m);
+            }
+            if (byNetWorth != null) {
+                byNetWorth.add(bucketOf(history.getNetWorths()[m], NET_WORTH_EDGES), history, m);
+            }
+        }
+
+        Map<String, Object> breakdowns = new LinkedHashMap<>();
+        if (byHero != null) {
+            breakdowns.put(Dimension.HERO.getKey(), heroRows(byHero, denseHeroIds, heroCount));
+        }
+        if (byResult != null) {
+            breakdowns.put(Dimension.RESULT.getKey(), rows(byResult, 2, i -> i == 0 ? "WIN" : "LOSS"));
+        }
+        if (byHour != null) {
+            breakdowns.put(Dimension.HOUR.getKey(), rows(byHour, 24, i -> String.format("%02d:00", i)));
+        }
+        if (byWeekday != null) {
+            breakdowns.put(Dimension.WEEKDAY.getKey(), rows(byWeekday, 7,
+                    i -> DayOfWeek.of(i + 1).getDisplayName(TextStyle.SHORT, Locale.KOREAN)));
+        }
+        if (byDuration != null) {
+            breakdowns.put(Dimension.DURATION.getKey(), rows(byDuration, DURATION_EDGES_MIN.length + 1,
+                    i -> bucketLabel(i, DURATION_EDGES_MIN, 1, "m")));
+        }
+        if (byNetWorth != null) {
+            breakdowns.put(Dimension.NET_WORTH.getKey(), rows(byNetWorth, NET_WORTH_EDGES.length + 1,
+                    i -> bucketLabel(i, NET_WORTH_EDGES, 1000, "k")));
+        }
+
+        logger.debug("Stats breakdown for {}: {} matches, dimensions={}", steamId, history.size(), requested);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("steamId", steamId.toString());
+        result.put("timezone", zone.getId());
+        result.put("totalMatches", history.size());
+        result.put("overall", row(total, 0));
+        result.put("breakdowns", breakdowns);
+        return result;
+    }
+
+    /**
+     * 값이 속한 구간 인덱스 (edges[i-1] <= value < edges[i])
+     */
+    private int bucketOf(int value, int[] edges) {
+        int bucket = 0;
+        while (bucket < edges.length && value >= edges[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private String bucketLabel(int bucket, int[] edges, int scale, String unit) {
+        if (bucket == 0) {
+            return "<" + edges[0] / scale + unit;
+        }
+        if (bucket == edges.length) {
+            return edges[edges.length - 1] / scale + unit + "+";
+        }
+        return edges[bucket - 1] / scale + "-" + edges[bucket] / scale + unit;
+    }
+
+    /**
+     * 고정 그룹 차원 - 매치가 없는 그룹도 차트 축을 위해 포함
+     */
+    private List<Map<String, Object>> rows(Accumulator acc, int groups, IntFunction<String> label) {
+        return IntStream.range(0, groups).mapToObj(i -> {
+            Map<String, Object> row = row(acc, i);
+            row.put("key", i);
+            row.put("label", label.apply(i));
+            return row;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * 영웅 차원 - 매치 수 내림차순
+     */
+    private List<Map<String, Object>> heroRows(Accumulator acc, int[] denseHeroIds, int heroCount) {
+        List<Map<String, Object>> rows = new ArrayList<>(heroCount);
+        for (int h = 0; h < heroCount; h++) {
+            int heroId = denseHeroIds[h];
+            Map<String, Object> row = row(acc, h);
+            row.put("heroId", heroId);
+            row.put("hero", deadlockService.getHeroNameById(heroId));
+            row.put("heroImage", deadlockService.getHeroImageById(heroId));
+            rows.add(row);
+        }
+        rows.sort((a, b) -> Integer.compare((Integer) b.get("matches"), (Integer) a.get("matches")));
+        return rows;
+    }
+
+    private Map<String, Object> row(Accumulator acc, int i) {
+        int matches = acc.matches[i];
+        long deaths = acc.deaths[i];
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("matches", matches);
+        row.put("wins", acc.wins[i]);
+        row.put("losses", matches - acc.wins[i]);
+        row.put("winRate", matches > 0 ? round((double) acc.wins[i] / matches * 100) : 0.0);
+        row.put("avgKills", matches > 0 ? round((double) acc.kills[i] / matches) : 0.0);
+        row.put("avgDeaths", matches > 0 ? round((double) deaths / matches) : 0.0);
+        row.put("avgAssists", matches > 0 ? round((double) acc.assists[i] / matches) : 0.0);
+        row.put("avgKDA", round((double) (acc.kills[i] + acc.assists[i]) / Math.max(1, deaths)));
+        row.put("avgNetWorth", matches > 0 ? Math.round((double) acc.netWorth[i] / matches) : 0L);
+        row.put("avgDurationS", matches > 0 ? Math.round((double) acc.durationS[i] / matches) : 0L);
+        return row;
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
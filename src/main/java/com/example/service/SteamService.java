@@ -1,31 +1,50 @@
 package com.example.service;
 
+import com.example.cache.ConditionalResponseCache;
+import com.example.cache.TieredCacheManager;
+import com.example.cache.TwoTierCache;
+import com.example.http.Bulkhead;
+import com.example.http.OutboundHttpClient;
+import com.example.model.SteamId;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
-import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
-import javax.annotation.PreDestroy;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class SteamService {
     
     private static final Logger logger = LoggerFactory.getLogger(SteamService.class);
     
+    // GetPlayerSummaries 한 번에 조회 가능한 최대 Steam ID 수
+    private static final int SUMMARIES_BATCH_SIZE = 100;
+    
+    @Autowired
+    private TieredCacheManager cacheManager;
+    
+    @Autowired
+    private ConditionalResponseCache conditionalCache;
+    
+    @Autowired
+    private OutboundHttpClient outboundHttpClient;
+    
+    @Autowired
+    private PlayerSearchService playerSearchService;
+    
     @Value("${steam.api.key}")
     private String steamApiKey;
     
@@ -35,85 +54,37 @@ public class SteamService {
     @Value("${steam.openid.url}")
     private String steamOpenIdUrl;
     
-    @Value("${http.client.connection.timeout:30000}")
-    private int connectionTimeout;
-    
-    @Value("${http.client.socket.timeout:30000}")
-    private int socketTimeout;
-    
-    @Value("${http.client.max.connections:100}")
-    private int maxConnections;
-    
-    @Value("${http.client.max.per.route:20}")
-    private int maxPerRoute;
-    
     @Value("${cache.player.stats.ttl:300}")
     private int cachePlayerStatsTtl;
     
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private CloseableHttpClient httpClient;
-    private final Map<String, CacheEntry> userInfoCache = new ConcurrentHashMap<>();
-    
-    private static class CacheEntry {
-        final Map<String, Object> data;
-        final long expireTime;
-        
-        CacheEntry(Map<String, Object> data, long ttlSeconds) {
-            this.data = data;
-            this.expireTime = System.currentTimeMillis() + (ttlSeconds * 1000);
-        }
-        
-        boolean isExpired() {
-            return System.currentTimeMillis() > expireTime;
-        }
-    }
+    private Bulkhead summariesBulkhead;
+    private TwoTierCache<Map<String, Object>> userInfoCache;
     
     @PostConstruct
     public void init() {
-        PoolingHttpClientConnectionManager cm = new PoolingHttpClientConnectionManager();
-        cm.setMaxTotal(maxConnections);
-        cm.setDefaultMaxPerRoute(maxPerRoute);
-        
-        RequestConfig requestConfig = RequestConfig.custom()
-                .setConnectTimeout(connectionTimeout)
-                .setSocketTimeout(socketTimeout)
-                .build();
+        // 노드 간 공유되는 2단계 캐시 (원격 저장소가 없으면 로컬 캐시로만 동작)
+        this.userInfoCache = cacheManager.getMapCache("userInfo");
+        this.summariesBulkhead = outboundHttpClient.bulkhead("steam");
         
-        this.httpClient = HttpClients.custom()
-                .setConnectionManager(cm)
-                .setDefaultRequestConfig(requestConfig)
-                .build();
-        
-        logger.info("SteamService initialized with connection pool: max={}, maxPerRoute={}", 
-                   maxConnections, maxPerRoute);
-    }
-    
-    @PreDestroy
-    public void destroy() {
-        if (httpClient != null) {
-            try {
-                httpClient.close();
-                logger.info("SteamService HTTP client closed");
-            } catch (IOException e) {
-                logger.error("Error closing HTTP client", e);
-            }
-        }
+        logger.info("SteamService initialized with bulkhead: {}", summariesBulkhead.getName());
     }
     
     /**
      * Steam ID로 사용자 정보 조회 (캐시 지원)
      */
-    public Map<String, Object> getUserInfo(String steamId) {
-        if (steamId == null || !isValidSteamId(steamId)) {
+    public Map<String, Object> getUserInfo(SteamId steamId) {
+        if (steamId == null) {
             logger.warn("Invalid Steam ID provided: {}", steamId);
             return null;
         }
         
         // 캐시에서 확인
-        CacheEntry cached = userInfoCache.get(steamId);
-        if (cached != null && !cached.isExpired()) {
+        Map<String, Object> cached = userInfoCache.get(steamId.toString());
+        if (cached != null) {
             logger.debug("Cache hit for Steam ID: {}", steamId);
-            return cached.data;
+            indexPersona(steamId, cached);
+            return cached;
         }
         
         String url = String.format("%s/ISteamUser/GetPlayerSummaries/v0002/?key=%s&steamids=%s",
@@ -125,35 +96,23 @@ public class SteamService {
             HttpGet request = new HttpGet(url);
             request.setHeader("User-Agent", "Deadlock-Stats-Tracker/1.0");
             
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
-                int statusCode = response.getStatusLine().getStatusCode();
-                if (statusCode != 200) {
-                    logger.error("Steam API returned status code: {} for Steam ID: {}", statusCode, steamId);
-                    return null;
-                }
+            JsonNode players = conditionalCache.execute(summariesBulkhead, request, this::parsePlayers);
+            if (players == null) {
+                logger.error("Steam API request failed for Steam ID: {}", steamId);
+                return null;
+            }
+            
+            if (players.isArray() && players.size() > 0) {
+                Map<String, Object> userInfo = toUserInfo(players.get(0));
+                indexPersona(steamId, userInfo);
                 
-                String jsonResponse = EntityUtils.toString(response.getEntity());
-                JsonNode root = objectMapper.readTree(jsonResponse);
-                JsonNode players = root.get("response").get("players");
+                // 캐시에 저장
+                userInfoCache.put(steamId.toString(), userInfo, cachePlayerStatsTtl);
+                logger.debug("User info cached for Steam ID: {}", steamId);
                 
-                if (players.isArray() && players.size() > 0) {
-                    JsonNode player = players.get(0);
-                    Map<String, Object> userInfo = new HashMap<>();
-                    userInfo.put("steamId", getJsonValue(player, "steamid", ""));
-                    userInfo.put("personaName", getJsonValue(player, "personaname", "Unknown"));
-                    userInfo.put("avatarFull", getJsonValue(player, "avatarfull", ""));
-                    userInfo.put("avatarMedium", getJsonValue(player, "avatarmedium", ""));
-                    userInfo.put("avatar", getJsonValue(player, "avatar", ""));
-                    userInfo.put("profileUrl", getJsonValue(player, "profileurl", ""));
-                    
-                    // 캐시에 저장
-                    userInfoCache.put(steamId, new CacheEntry(userInfo, cachePlayerStatsTtl));
-                    logger.debug("User info cached for Steam ID: {}", steamId);
-                    
-                    return userInfo;
-                } else {
-                    logger.warn("No player data found for Steam ID: {}", steamId);
-                }
+                return userInfo;
+            } else {
+                logger.warn("No player data found for Steam ID: {}", steamId);
             }
         } catch (IOException e) {
             logger.error("Error fetching user info for Steam ID: " + steamId, e);
@@ -162,6 +121,104 @@ public class SteamService {
         return null;
     }
     
+    /**
+     * 캐시된 사용자 정보만 조회 (없으면 null, Steam API 호출 없음)
+     */
+    public Map<String, Object> getCachedUserInfo(SteamId steamId) {
+        return steamId != null ? userInfoCache.get(steamId.toString()) : null;
+    }
+    
+    /**
+     * 여러 Steam ID의 사용자 정보를 한 번에 조회 (캐시 미스만 100개 단위로 묶어 요청)
+     * 조회되지 않은 ID는 결과에 포함되지 않음
+     */
+    public Map<SteamId, Map<String, Object>> getUserInfos(Collection<SteamId> steamIds) {
+        Map<SteamId, Map<String, Object>> result = new HashMap<>();
+        List<SteamId> missing = new ArrayList<>();
+        
+        for (SteamId steamId : new LinkedHashSet<>(steamIds)) {
+            if (steamId == null) {
+                continue;
+            }
+            Map<String, Object> cached = userInfoCache.get(steamId.toString());
+            if (cached != null) {
+                indexPersona(steamId, cached);
+                result.put(steamId, cached);
+            } else {
+                missing.add(steamId);
+            }
+        }
+        
+        for (int from = 0; from < missing.size(); from += SUMMARIES_BATCH_SIZE) {
+            List<SteamId> batch = missing.subList(from, Math.min(from + SUMMARIES_BATCH_SIZE, missing.size()));
+            fetchUserInfoBatch(batch, result);
+        }
+        
+        logger.debug("Bulk user info lookup: requested={}, fetched={}, resolved={}",
+                    steamIds.size(), missing.size(), result.size());
+        return result;
+    }
+    
+    private void fetchUserInfoBatch(List<SteamId> steamIds, Map<SteamId, Map<String, Object>> result) {
+        StringBuilder ids = new StringBuilder();
+        for (SteamId steamId : steamIds) {
+            if (ids.length() > 0) {
+                ids.append(',');
+            }
+            ids.append(steamId.getSteamId64());
+        }
+        String url = String.format("%s/ISteamUser/GetPlayerSummaries/v0002/?key=%s&steamids=%s",
+                steamApiBaseUrl, steamApiKey, ids);
+        
+        try {
+            HttpGet request = new HttpGet(url);
+            request.setHeader("User-Agent", "Deadlock-Stats-Tracker/1.0");
+            
+            JsonNode players = conditionalCache.execute(summariesBulkhead, request, this::parsePlayers);
+            if (players == null) {
+                logger.error("Steam API request failed for {} Steam IDs", steamIds.size());
+                return;
+            }
+            
+            for (JsonNode player : players) {
+                Map<String, Object> userInfo = toUserInfo(player);
+                SteamId steamId = SteamId.tryParse((String) userInfo.get("steamId"));
+                if (steamId != null) {
+                    indexPersona(steamId, userInfo);
+                    userInfoCache.put(steamId.toString(), userInfo, cachePlayerStatsTtl);
+                    result.put(steamId, userInfo);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Error fetching user info for " + steamIds.size() + " Steam IDs", e);
+        }
+    }
+    
+    /**
+     * GetPlayerSummaries 응답의 players 배열
+     */
+    private JsonNode parsePlayers(HttpEntity entity) throws IOException {
+        return objectMapper.readTree(entity.getContent()).path("response").path("players");
+    }
+    
+    private Map<String, Object> toUserInfo(JsonNode player) {
+        Map<String, Object> userInfo = new HashMap<>();
+        userInfo.put("steamId", getJsonValue(player, "steamid", ""));
+        userInfo.put("personaName", getJsonValue(player, "personaname", "Unknown"));
+        userInfo.put("avatarFull", getJsonValue(player, "avatarfull", ""));
+        userInfo.put("avatarMedium", getJsonValue(player, "avatarmedium", ""));
+        userInfo.put("avatar", getJsonValue(player, "avatar", ""));
+        userInfo.put("profileUrl", getJsonValue(player, "profileurl", ""));
+        return userInfo;
+    }
+    
+    /**
+     * 조회된 페르소나 이름을 플레이어 검색 색인에 반영 (캐시 적중 포함, 다른 노드가 조회한 이름도 색인됨)
+     */
+    private void indexPersona(SteamId steamId, Map<String, Object> userInfo) {
+        playerSearchService.record(steamId, (String) userInfo.get("personaName"));
+    }
+    
     private String getJsonValue(JsonNode node, String fieldName, String defaultValue) {
         return node.has(fieldName) ? node.get(fieldName).asText() : defaultValue;
     }
@@ -194,19 +251,12 @@ public class SteamService {
     }
     
     /**
-     * OpenID 응답에서 Steam ID 추출
+     * OpenID 응답에서 Steam ID 추출 (형식이 잘못되었으면 null)
      */
-    public String extractSteamId(String openIdIdentity) {
+    public SteamId extractSteamId(String openIdIdentity) {
         if (openIdIdentity != null && openIdIdentity.startsWith("https://steamcommunity.com/openid/id/")) {
-            return openIdIdentity.substring("https://steamcommunity.com/openid/id/".length());
+            return SteamId.tryParse(openIdIdentity.substring("https://steamcommunity.com/openid/id/".length()));
         }
         return null;
     }
-    
-    /**
-     * Steam ID 유효성 검증
-     */
-    public boolean isValidSteamId(String steamId) {
-        return steamId != null && steamId.matches("\\d{17}");
-    }
 }
\ No newline at end of file
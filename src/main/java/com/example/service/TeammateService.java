@@ -0,0 +1,192 @@
+package com.example.service;
+
+import com.example.model.MatchRecord;
+import com.example.model.PlayerHistory;
+import com.example.model.SteamId;
+import com.example.util.LongIntHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 자주 함께한 팀원 / 자주 만난 상대 분석
+ * 플레이어 히스토리의 매치 중 메타데이터가 저장된 매치를 한 번 순회하며
+ * 다른 account ID별 동시 출현 횟수와 승리 수를 기본형 배열에 누적한다.
+ */
+@Service
+public class TeammateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeammateService.class);
+
+    @Autowired
+    private DeadlockService deadlockService;
+
+    @Autowired
+    private MatchRecordStore matchRecordStore;
+
+    @Autowired
+    private SteamService steamService;
+
+    /** account ID별 누적값 (account ID → 밀집 인덱스) */
+    private static class Accumulator {
+        final LongIntHashMap index = new LongIntHashMap(256);
+        long[] accountIds = new long[256];
+        int[] withMatches = new int[256];
+        int[] withWins = new int[256];
+        int[] againstMatches = new int[256];
+        int[] againstWins = new int[256];
+        int size;
+
+        void add(long accountId, boolean sameTeam, boolean win) {
+            int i = index.get(accountId, -1);
+            if (i < 0) {
+                i = size++;
+                if (i == accountIds.length) {
+                    grow();
+                }
+                accountIds[i] = accountId;
+                index.put(accountId, i);
+            }
+            if (sameTeam) {
+                withMatches[i]++;
+                if (win) {
+                    withWins[i]++;
+                }
+            } else {
+                againstMatches[i]++;
+                if (win) {
+                    againstWins[i]++;
+                }
+            }
+        }
+
+        private void grow() {
+            int capacity = accountIds.length * 2;
+            accountIds = Arrays.copyOf(accountIds, capacity);
+            withMatches = Arrays.copyOf(withMatches, capacity);
+            withWins = Arrays.copyOf(withWins, capacity);
+            againstMatches = Arrays.copyOf(againstMatches, capacity);
+            againstWins = Arrays.copyOf(againstWins, capacity);
+        }
+    }
+
+    /**
+     * 팀원/상대 리포트 (각각 함께한 매치 수 기준 상위 limit명)
+     */
+    public Map<String, Object> getTeammateReport(SteamId steamId, int limit) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("steamId", steamId.toString());
+
+        PlayerHistory history = deadlockService.getPlayerHistory(steamId);
+        if (history == null) {
+            result.put("totalMatches", 0);
+            result.put("analyzedMatches", 0);
+            result.put("teammates", new ArrayList<>());
+            result.put("opponents", new ArrayList<>());
+            return result;
+        }
+
+        long accountId = steamId.getAccountId();
+        Accumulator acc = new Accumulator();
+        int analyzed = 0;
+
+        for (int m = 0; m < history.size(); m++) {
+            MatchRecord record = matchRecordStore.get(history.getMatchIds()[m]);
+            if (record == null) {
+                continue;
+            }
+            int me = record.indexOf(accountId);
+            if (me < 0) {
+                continue;
+            }
+            analyzed++;
+            // 메타데이터에 승리 팀이 없으면 히스토리의 승패 사용
+            boolean win = record.getWinningTeam() >= 0 ? record.isWinner(me) : history.getWins()[m];
+            int myTeam = record.getTeams()[me];
+
+            for (int p = 0; p < record.playerCount(); p++) {
+                long other = record.getAccountIds()[p];
+                if (p == me || other == 0) {
+                    continue;
+                }
+                acc.add(other, record.getTeams()[p] == myTeam, win);
+            }
+        }
+
+        int[] teammates = topIndices(acc.withMatches, acc.size, limit);
+        int[] opponents = topIndices(acc.againstMatches, acc.size, limit);
+
+        // 상위 N명의 이름만 한 번에 조회
+        List<SteamId> steamIds = new ArrayList<>();
+        for (int i : teammates) {
+            steamIds.add(SteamId.ofAccountId(acc.accountIds[i]));
+        }
+        for (int i : opponents) {
+            steamIds.add(SteamId.ofAccountId(acc.accountIds[i]));
+        }
+        Map<SteamId, Map<String, Object>> users = steamService.getUserInfos(steamIds);
+
+        logger.debug("Teammate report for {}: analyzed {} of {} matches, {} distinct players",
+                    steamId, analyzed, history.size(), acc.size);
+
+        result.put("totalMatches", history.size());
+        result.put("analyzedMatches", analyzed);
+        result.put("distinctPlayers", acc.size);
+        result.put("teammates", toEntries(teammates, acc.accountIds, acc.withMatches, acc.withWins, users));
+        result.put("opponents", toEntries(opponents, acc.accountIds, acc.againstMatches, acc.againstWins, users));
+        return result;
+    }
+
+    /**
+     * counts 기준 상위 limit개 인덱스 (동률이면 먼저 등장한 순)
+     * limit 크기의 정렬된 int 배열에 삽입하는 부분 선택 - 인덱스를 박싱하거나 전체를 정렬하지 않음
+     */
+    private int[] topIndices(int[] counts, int size, int limit) {
+        int[] top = new int[Math.max(0, limit)];
+        int found = 0;
+        for (int i = 0; i < size; i++) {
+            int count = counts[i];
+            if (count <= 0 || (found == top.length && count <= counts[top[found - 1]])) {
+                continue;
+            }
+            // 같은 값 뒤에 삽입하여 먼저 등장한 인덱스가 앞에 오도록 유지
+            int pos = found < top.length ? found : found - 1;
+            while (pos > 0 && counts[top[pos - 1]] < count) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = i;
+            if (found < top.length) {
+                found++;
+            }
+        }
+        return found == top.length ? top : Arrays.copyOf(top, found);
+    }
+
+    private List<Map<String, Object>> toEntries(int[] indices, long[] accountIds, int[] matches, int[] wins,
+                                                Map<SteamId, Map<String, Object>> users) {
+        return Arrays.stream(indices).mapToObj(i -> {
+            SteamId steamId = SteamId.ofAccountId(accountIds[i]);
+            Map<String, Object> user = users.get(steamId);
+
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("steamId", steamId.toString());
+            entry.put("accountId", accountIds[i]);
+            entry.put("personaName", user != null ? user.get("personaName") : String.valueOf(accountIds[i]));
+            entry.put("avatar", user != null ? user.get("avatar") : "");
+            entry.put("matches", matches[i]);
+            entry.put("wins", wins[i]);
+            entry.put("losses", matches[i] - wins[i]);
+            entry.put("winRate", Math.round((double) wins[i] / matches[i] * 1000.0) / 10.0);
+            return entry;
+        }).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.service;
+
+import com.example.model.PlayerHistory;
+import com.example.model.SteamId;
+import com.example.util.IndexSort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 플레이어 추세 시계열 (일/주 단위 버킷, 최근 N경기 이동 구간, 기간 비교)
+ * 시작 시간 순으로 정렬한 매치를 한 번씩 순회하며 누적기에 더하고 빼는 방식이라
+ * 정렬 이후의 계산은 모두 매치 수에 선형이다. 이동 구간 점은 최대 MAX_ROLLING_POINTS개로 솎아서 반환한다.
+ */
+@Service
+public class TrendService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendService.class);
+
+    private static final long SECONDS_PER_DAY = 86400L;
+
+    /** 이동 구간 차트 최대 점 수 (차트 폭 600px 기준, 넘으면 일정 간격으로 건너뜀) */
+    private static final int MAX_ROLLING_POINTS = 500;
+
+    @Autowired
+    private DeadlockService deadlockService;
+
+    /** 구간 합계 (이동 구간은 add/remove로 유지) */
+    private static class Window {
+        int matches;
+        int wins;
+        long kills;
+        long deaths;
+        long assists;
+        long netWorth;
+
+        void add(PlayerHistory history, int m) {
+            matches++;
+            if (history.getWins()[m]) {
+                wins++;
+            }
+            kills += history.getKills()[m];
+            deaths += history.getDeaths()[m];
+            assists += history.getAssists()[m];
+            netWorth += history.getNetWorths()[m];
+        }
+
+        void remove(PlayerHistory history, int m) {
+            matches--;
+            if (history.getWins()[m]) {
+                wins--;
+            }
+            kills -= history.getKills()[m];
+            deaths -= history.getDeaths()[m];
+            assists -= history.getAssists()[m];
+            netWorth -= history.getNetWorths()[m];
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> point = new HashMap<>();
+            point.put("matches", matches);
+            point.put("wins", wins);
+            point.put("winRate", matches > 0 ? round((double) wins / matches * 100) : 0.0);
+            point.put("kda", round((double) (kills + assists) / Math.max(1, deaths)));
+            point.put("avgNetWorth", matches > 0 ? Math.round((double) netWorth / matches) : 0L);
+            return point;
+        }
+    }
+
+    /**
+     * 추세 데이터 (window: 이동 구간 경기 수, periodDays: 비교 기간 길이, 조회 실패 시 null)
+     */
+    public Map<String, Object> getTrends(SteamId steamId, int window, int periodDays, ZoneId zone) {
+        PlayerHistory history = deadlockService.getPlayerHistory(steamId);
+        if (history == null) {
+            return null;
+        }
+
+        // match ID 순 → 시작 시간 순
+        // (match ID와 시작 시간은 대체로 같은 순서라 보통 선형 확인만으로 끝남)
+        int[] order = new int[history.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        IndexSort.sortByKey(order, history.getStartTimes());
+
+        // 이동 구간은 매 경기 갱신하되 점은 stride 경기마다 (마지막 경기는 항상) 기록
+        int stride = Math.max(1, (order.length + MAX_ROLLING_POINTS - 1) / MAX_ROLLING_POINTS);
+
+        List<Map<String, Object>> daily = new ArrayList<>();
+        List<Map<String, Object>> weekly = new ArrayList<>();
+        List<Map<String, Object>> rolling = new ArrayList<>(Math.min(order.length, MAX_ROLLING_POINTS + 1));
+
+        Window day = new Window();
+        Window week = new Window();
+        Window last = new Window();
+        LocalDate currentDay = null;
+        LocalDate currentWeek = null;
+
+        long now = System.currentTimeMillis() / 1000;
+        long periodStart = now - periodDays * SECONDS_PER_DAY;
+        long previousStart = periodStart - periodDays * SECONDS_PER_DAY;
+        Window current = new Window();
+        Window previous = new Window();
+
+        for (int k = 0; k < order.length; k++) {
+            int m = order[k];
+            long startTime = history.getStartTimes()[m];
+            LocalDate date = Instant.ofEpochSecond(startTime).atZone(zone).toLocalDate();
+            LocalDate weekStart = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+            // 정렬되어 있으므로 날짜/주가 바뀌면 이전 버킷은 완성됨
+            if (!date.equals(currentDay)) {
+                addBucket(daily, currentDay, day);
+                currentDay = date;
+                day = new Window();
+            }
+            if (!weekStart.equals(currentWeek)) {
+                addBucket(weekly, currentWeek, week);
+                currentWeek = weekStart;
+                week = new Window();
+            }
+            day.add(history, m);
+            week.add(history, m);
+
+            last.add(history, m);
+            if (k >= window) {
+                last.remove(history, order[k - window]);
+            }
+            if ((order.length - 1 - k) % stride == 0) {
+                Map<String, Object> point = last.toMap();
+                point.put("matchId", String.valueOf(history.getMatchIds()[m]));
+                point.put("startTime", startTime * 1000); // 초를 밀리초로
+                rolling.add(point);
+            }
+
+            if (startTime >= periodStart) {
+                current.add(history, m);
+            } else if (startTime >= previousStart) {
+                previous.add(history, m);
+            }
+        }
+        addBucket(daily, currentDay, day);
+        addBucket(weekly, currentWeek, week);
+
+        Map<String, Object> currentPeriod = current.toMap();
+        Map<String, Object> previousPeriod = previous.toMap();
+        Map<String, Object> change = new HashMap<>();
+        change.put("matches", current.matches - previous.matches);
+        change.put("winRate", round((Double) currentPeriod.get("winRate") - (Double) previousPeriod.get("winRate")));
+        change.put("kda", round((Double) currentPeriod.get("kda") - (Double) previousPeriod.get("kda")));
+        change.put("avgNetWorth", (Long) currentPeriod.get("avgNetWorth") - (Long) previousPeriod.get("avgNetWorth"));
+
+        Map<String, Object> comparison = new HashMap<>();
+        comparison.put("periodDays", periodDays);
+        comparison.put("current", currentPeriod);
+        comparison.put("previous", previousPeriod);
+        comparison.put("change", change);
+
+        logger.debug("Trends for {}: {} matches, {} days, {} weeks, window={}",
+                    steamId, order.length, daily.size(), weekly.size(), window);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("steamId", steamId.toString());
+        result.put("timezone", zone.getId());
+        result.put("totalMatches", order.length);
+        result.put("window", window);
+        result.put("daily", daily);
+        result.put("weekly", weekly);
+        result.put("rolling", rolling);
+        result.put("rollingStride", stride);
+        result.put("comparison", comparison);
+        return result;
+    }
+
+    private void addBucket(List<Map<String, Object>> buckets, LocalDate date, Window totals) {
+        if (date == null || totals.matches == 0) {
+            return;
+        }
+        Map<String, Object> bucket = totals.toMap();
+        bucket.put("date", date.toString());
+        buckets.add(bucket);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
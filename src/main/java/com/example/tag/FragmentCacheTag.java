@@ -0,0 +1,47 @@
+package com.example.tag;
+
+import com.example.cache.HtmlFragmentCache;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.PageContext;
+import javax.servlet.jsp.tagext.SimpleTagSupport;
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * &lt;dl:cache key="..." version="..."&gt; - 본문 렌더링 결과를 캐시하고 이후에는 캐시된 HTML을 그대로 출력
+ * version은 본문 내용이 바뀌면 함께 바뀌는 값을 지정 (예: 통계 합계)
+ */
+public class FragmentCacheTag extends SimpleTagSupport {
+
+    private String key;
+    private String version;
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    @Override
+    public void doTag() throws JspException, IOException {
+        PageContext pageContext = (PageContext) getJspContext();
+        HtmlFragmentCache cache = WebApplicationContextUtils
+                .getRequiredWebApplicationContext(pageContext.getServletContext())
+                .getBean(HtmlFragmentCache.class);
+
+        String html = cache.get(key, version);
+        if (html == null) {
+            StringWriter writer = new StringWriter();
+            if (getJspBody() != null) {
+                getJspBody().invoke(writer);
+            }
+            html = writer.toString();
+            cache.put(key, version, html);
+        }
+        getJspContext().getOut().write(html);
+    }
+}
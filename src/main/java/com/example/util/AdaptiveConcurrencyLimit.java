@@ -0,0 +1,67 @@
+package com.example.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD 방식의 적응형 동시 처리 한도
+ * 요청이 목표 지연 시간 안에 성공하고 한도의 절반 이상이 사용 중이면 한도를 1씩 늘리고,
+ * 실패하거나 목표 지연 시간을 넘기면 한도를 backoffRatio 배로 줄인다.
+ * 캐시 적중(수 ms)과 업스트림 조회(수 초)가 섞인 엔드포인트라 지연 시간 기울기 대신 고정 목표값을 사용한다.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double limit;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    double backoffRatio, long latencyThresholdNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    /**
+     * 한도의 share 비율 안에서 슬롯 획득 (우선순위가 낮은 요청은 1보다 작은 비율 사용)
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (getLimit() * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 슬롯 반환과 함께 처리 결과를 한도에 반영
+     */
+    public void release(long rttNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || rttNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.util;
+
+/**
+ * long 키 기준 행 인덱스 정렬 (박싱 없음, 안정 정렬)
+ * 열 단위 배열을 직접 옮기지 않고 순서만 구한 뒤 한 번에 복사/순회할 때 사용한다.
+ */
+public final class IndexSort {
+
+    private IndexSort() {
+    }
+
+    /**
+     * order의 인덱스를 keys[index] 오름차순으로 정렬 (같은 키는 기존 순서 유지)
+     * 이미 정렬된 구간은 병합을 건너뛰므로 거의 정렬된 입력은 선형 시간에 가깝다.
+     */
+    public static void sortByKey(int[] order, long[] keys) {
+        int n = order.length;
+        if (isSorted(order, keys)) {
+            return;
+        }
+
+        int[] src = order;
+        int[] dst = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                if (mid >= hi || keys[src[mid - 1]] <= keys[src[mid]]) {
+                    System.arraycopy(src, lo, dst, lo, hi - lo);
+                } else {
+                    merge(src, dst, keys, lo, mid, hi);
+                }
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != order) {
+            System.arraycopy(src, 0, order, 0, n);
+        }
+    }
+
+    private static boolean isSorted(int[] order, long[] keys) {
+        for (int i = 1; i < order.length; i++) {
+            if (keys[order[i - 1]] > keys[order[i]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void merge(int[] src, int[] dst, long[] keys, int lo, int mid, int hi) {
+        int left = lo;
+        int right = mid;
+        for (int i = lo; i < hi; i++) {
+            if (right >= hi || (left < mid && keys[src[left]] <= keys[src[right]])) {
+                dst[i] = src[left++];
+            } else {
+                dst[i] = src[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.util;
+
+/**
+ * long 값 전용 해시 셋 (open addressing, 박싱 없음)
+ * 동기화하지 않으므로 여러 스레드에서 사용할 때는 호출하는 쪽에서 잠금을 건다.
+ */
+public class LongHashSet {
+    
+    private static final long EMPTY = 0L;
+    
+    private long[] keys;
+    private int size;
+    private boolean containsZero;
+    
+    public LongHashSet() {
+        this(16);
+    }
+    
+    public LongHashSet(int expectedSize) {
+        this.keys = new long[tableSizeFor(expectedSize)];
+    }
+    
+    /**
+     * 값 추가 - 새로 추가되었으면 true
+     */
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        if (++size > keys.length * 3 / 4) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+    
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsZero;
+        }
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public void clear() {
+        keys = new long[16];
+        size = 0;
+        containsZero = false;
+    }
+    
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        keys = new long[newCapacity];
+        int mask = newCapacity - 1;
+        for (long key : oldKeys) {
+            if (key != EMPTY) {
+                int index = mix(key) & mask;
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+            }
+        }
+    }
+    
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+    
+    static int tableSizeFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
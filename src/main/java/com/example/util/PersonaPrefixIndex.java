@@ -0,0 +1,344 @@
+package com.example.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 페르소나 이름 → account ID 접두어 색인 (trie)
+ * 노드는 문자/first-child/next-sibling 기본형 배열로 표현하고, 표시용 이름은 하나의 char 배열에 이어 붙여
+ * 같은 이름은 한 번만 저장한다 (이름 ID로 공유). 색인 키는 소문자로 정규화한 이름이다.
+ * account ID마다 현재 이름 항목 하나만 유효하며, 이름이 바뀌면 이전 항목은 비활성화된다.
+ * 비활성 항목이 유효 항목 수만큼 쌓이면 유효 항목만으로 다시 구성하므로 이름 변경이 반복되어도 크기가 유지된다.
+ * 동기화하지 않으므로 여러 스레드에서 사용할 때는 호출하는 쪽에서 잠금을 건다.
+ */
+public class PersonaPrefixIndex {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    // 이보다 적은 비활성 항목은 재구성하지 않음
+    private static final int MIN_COMPACT_RETIRED = 1024;
+
+    /** put 결과 */
+    public enum PutResult {
+        ADDED,
+        UNCHANGED,
+        FULL
+    }
+
+    /** 검색 결과 한 건 */
+    public static class Hit {
+        private final long accountId;
+        private final String name;
+
+        Hit(long accountId, String name) {
+            this.accountId = accountId;
+            this.name = name;
+        }
+
+        public long getAccountId() {
+            return accountId;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private final int maxEntries;
+
+    // trie 노드 (index 0 = root)
+    private char[] nodeChars;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] firstEntry;
+    private int nodeCount;
+
+    // 항목 (노드별 연결 리스트, entryNames가 NONE이면 비활성)
+    private long[] entryAccountIds;
+    private int[] entryNames;
+    private int[] entryNext;
+    private int entryCount;
+    private int liveEntries;
+    private LongIntHashMap accountEntries;
+
+    // 이름 저장소 (이름 ID → nameChars 내 위치), nameTable은 이름 해시 → 이름 ID + 1
+    private char[] nameChars;
+    private int nameCharsLength;
+    private int[] nameOffsets;
+    private int[] nameLengths;
+    private int nameCount;
+    private int[] nameTable;
+
+    public PersonaPrefixIndex(int maxEntries) {
+        this.maxEntries = maxEntries;
+        reset();
+    }
+
+    private void reset() {
+        nodeChars = new char[1024];
+        firstChild = new int[1024];
+        nextSibling = new int[1024];
+        firstEntry = new int[1024];
+        Arrays.fill(firstChild, NONE);
+        Arrays.fill(nextSibling, NONE);
+        Arrays.fill(firstEntry, NONE);
+        nodeCount = 1;
+
+        entryAccountIds = new long[256];
+        entryNames = new int[256];
+        entryNext = new int[256];
+        entryCount = 0;
+        liveEntries = 0;
+        accountEntries = new LongIntHashMap(256);
+
+        nameChars = new char[4096];
+        nameCharsLength = 0;
+        nameOffsets = new int[256];
+        nameLengths = new int[256];
+        nameCount = 0;
+        nameTable = new int[512];
+    }
+
+    /**
+     * account ID의 현재 이름이 name인지 확인
+     */
+    public boolean isCurrent(long accountId, String name) {
+        int entry = accountEntries.get(accountId, NONE);
+        return entry != NONE && entryNames[entry] != NONE && nameEquals(entryNames[entry], name);
+    }
+
+    /**
+     * 이름 등록 또는 변경
+     * 이미 현재 이름이거나 빈 이름이면 UNCHANGED, 새 account인데 유효 항목이 maxEntries개면 FULL
+     */
+    public PutResult put(long accountId, String name) {
+        if (name == null || name.trim().isEmpty() || isCurrent(accountId, name)) {
+            return PutResult.UNCHANGED;
+        }
+
+        int previous = accountEntries.get(accountId, NONE);
+        boolean renamed = previous != NONE && entryNames[previous] != NONE;
+        if (!renamed && liveEntries >= maxEntries) {
+            return PutResult.FULL;
+        }
+        if (renamed) {
+            entryNames[previous] = NONE;
+            liveEntries--;
+        }
+        append(accountId, name);
+
+        int retired = entryCount - liveEntries;
+        if (retired >= MIN_COMPACT_RETIRED && retired >= liveEntries) {
+            compact();
+        }
+        return PutResult.ADDED;
+    }
+
+    /**
+     * 유효 항목만으로 trie와 이름 저장소를 다시 구성 (비활성 항목, 더 이상 쓰이지 않는 노드와 이름 제거)
+     */
+    private void compact() {
+        long[] accountIds = new long[liveEntries];
+        String[] names = new String[liveEntries];
+        int live = 0;
+        for (int e = 0; e < entryCount; e++) {
+            int nameId = entryNames[e];
+            if (nameId != NONE) {
+                accountIds[live] = entryAccountIds[e];
+                names[live] = new String(nameChars, nameOffsets[nameId], nameLengths[nameId]);
+                live++;
+            }
+        }
+
+        reset();
+        for (int i = 0; i < live; i++) {
+            append(accountIds[i], names[i]);
+        }
+    }
+
+    /**
+     * 새 항목 추가 (이전 항목 비활성화와 용량 확인은 호출하는 쪽에서 처리)
+     */
+    private void append(long accountId, String name) {
+        int node = ROOT;
+        String key = normalize(name);
+        for (int i = 0; i < key.length(); i++) {
+            node = childOrCreate(node, key.charAt(i));
+        }
+
+        int entry = entryCount++;
+        if (entry == entryAccountIds.length) {
+            int capacity = entry * 2;
+            entryAccountIds = Arrays.copyOf(entryAccountIds, capacity);
+            entryNames = Arrays.copyOf(entryNames, capacity);
+            entryNext = Arrays.copyOf(entryNext, capacity);
+        }
+        entryAccountIds[entry] = accountId;
+        entryNames[entry] = internName(name);
+        entryNext[entry] = firstEntry[node];
+        firstEntry[node] = entry;
+        accountEntries.put(accountId, entry);
+        liveEntries++;
+    }
+
+    /**
+     * 접두어로 시작하는 이름 최대 limit건 (찾은 결과는 짧은 이름 순으로 정렬)
+     * 깊이 우선으로 탐색하며 limit건을 찾으면 멈추므로 방문 노드 수는 결과 수와 이름 길이에 비례한다.
+     */
+    public List<Hit> search(String prefix, int limit) {
+        List<Hit> hits = new ArrayList<>();
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return hits;
+        }
+
+        int node = ROOT;
+        for (int i = 0; i < key.length() && node != NONE; i++) {
+            node = child(node, key.charAt(i));
+        }
+        if (node == NONE) {
+            return hits;
+        }
+
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = node;
+        while (top > 0 && hits.size() < limit) {
+            int current = stack[--top];
+            for (int e = firstEntry[current]; e != NONE && hits.size() < limit; e = entryNext[e]) {
+                int nameId = entryNames[e];
+                if (nameId != NONE) {
+                    hits.add(new Hit(entryAccountIds[e], new String(nameChars, nameOffsets[nameId], nameLengths[nameId])));
+                }
+            }
+            for (int c = firstChild[current]; c != NONE; c = nextSibling[c]) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                }
+                stack[top++] = c;
+            }
+        }
+        hits.sort((a, b) -> Integer.compare(a.name.length(), b.name.length()));
+        return hits;
+    }
+
+    public int size() {
+        return liveEntries;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int nameCount() {
+        return nameCount;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private int child(int node, char ch) {
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+            if (nodeChars[c] == ch) {
+                return c;
+            }
+        }
+        return NONE;
+    }
+
+    private int childOrCreate(int node, char ch) {
+        int existing = child(node, ch);
+        if (existing != NONE) {
+            return existing;
+        }
+        if (nodeCount == nodeChars.length) {
+            int capacity = nodeCount * 2;
+            nodeChars = Arrays.copyOf(nodeChars, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            firstEntry = Arrays.copyOf(firstEntry, capacity);
+            Arrays.fill(firstChild, nodeCount, capacity, NONE);
+            Arrays.fill(nextSibling, nodeCount, capacity, NONE);
+            Arrays.fill(firstEntry, nodeCount, capacity, NONE);
+        }
+        int created = nodeCount++;
+        nodeChars[created] = ch;
+        nextSibling[created] = firstChild[node];
+        firstChild[node] = created;
+        return created;
+    }
+
+    /**
+     * 이름 저장소에 등록하고 이름 ID 반환 (이미 있으면 기존 ID)
+     */
+    private int internName(String name) {
+        int mask = nameTable.length - 1;
+        int slot = name.hashCode() & mask;
+        while (nameTable[slot] != 0) {
+            int nameId = nameTable[slot] - 1;
+            if (nameEquals(nameId, name)) {
+                return nameId;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (nameCharsLength + name.length() > nameChars.length) {
+            nameChars = Arrays.copyOf(nameChars, Math.max(nameChars.length * 2, nameCharsLength + name.length()));
+        }
+        name.getChars(0, name.length(), nameChars, nameCharsLength);
+
+        int nameId = nameCount++;
+        if (nameId == nameOffsets.length) {
+            nameOffsets = Arrays.copyOf(nameOffsets, nameId * 2);
+            nameLengths = Arrays.copyOf(nameLengths, nameId * 2);
+        }
+        nameOffsets[nameId] = nameCharsLength;
+        nameLengths[nameId] = name.length();
+        nameCharsLength += name.length();
+
+        nameTable[slot] = nameId + 1;
+        if (nameCount > nameTable.length * 3 / 4) {
+            rehashNames(nameTable.length * 2);
+        }
+        return nameId;
+    }
+
+    private boolean nameEquals(int nameId, String name) {
+        int length = nameLengths[nameId];
+        if (length != name.length()) {
+            return false;
+        }
+        int offset = nameOffsets[nameId];
+        for (int i = 0; i < length; i++) {
+            if (nameChars[offset + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int nameHash(int nameId) {
+        // String.hashCode와 같은 방식
+        int hash = 0;
+        int offset = nameOffsets[nameId];
+        for (int i = 0; i < nameLengths[nameId]; i++) {
+            hash = 31 * hash + nameChars[offset + i];
+        }
+        return hash;
+    }
+
+    private void rehashNames(int capacity) {
+        nameTable = new int[capacity];
+        int mask = capacity - 1;
+        for (int nameId = 0; nameId < nameCount; nameId++) {
+            int slot = nameHash(nameId) & mask;
+            while (nameTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            nameTable[slot] = nameId + 1;
+        }
+    }
+}
@@ -1,5 +1,6 @@
-<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ page contentType="text/html;charset=UTF-8" language="java" session="false" %>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<%@ taglib prefix="fn" uri="http://java.sun.com/jsp/jstl/functions" %>
 
 <header class="header">
     <div class="container">
@@ -20,13 +21,19 @@
                     </c:if>
                 </div>
                 
+                <div class="player-search">
+                    <input type="search" id="playerSearchInput" class="player-search-input"
+                           placeholder="플레이어 검색" autocomplete="off">
+                    <div class="player-search-results" id="playerSearchResults"></div>
+                </div>
+                
                 <div class="navbar-actions">
                     <c:choose>
                         <c:when test="${isLoggedIn}">
                             <div class="user-dropdown">
                                 <button class="user-btn" onclick="toggleDropdown()">
-                                    <img src="${user.avatar}" alt="${user.personaName}" class="user-avatar">
-                                    <span class="user-name">${user.personaName}</span>
+                                    <img src="${fn:escapeXml(user.avatar)}" alt="${fn:escapeXml(user.personaName)}" class="user-avatar">
+                                    <span class="user-name"><c:out value="${user.personaName}"/></span>
                                     <i class="dropdown-arrow">▼</i>
                                 </button>
                                 <div class="dropdown-menu" id="userDropdown">
@@ -1,26 +1,32 @@
-<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ page contentType="text/html;charset=UTF-8" language="java" session="false" %>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
 <%@ taglib prefix="fn" uri="http://java.sun.com/jsp/jstl/functions" %>
+<%@ taglib prefix="dl" uri="/WEB-INF/tld/deadlock.tld" %>
 <!DOCTYPE html>
 <html>
 <head>
     <meta charset="UTF-8">
     <meta name="viewport" content="width=device-width, initial-scale=1.0">
-    <title>${title}</title>
+    <title><c:out value="${title}"/></title>
     <link rel="stylesheet" href="/resources/css/main.css">
     <link rel="stylesheet" href="/resources/css/profile.css">
 </head>
 <body>
-    <c:set var="currentPage" value="profile" scope="request"/>
+    <c:set var="currentPage" value="${ownProfile ? 'profile' : 'players'}" scope="request"/>
     <jsp:include page="layout/header.jsp" />
     
     <main class="main-content">
         <div class="container">
+            <c:if test="${profileData.degraded}">
+                <div class="alert alert-error">
+                    서버 요청이 많아 저장된 데이터만 표시합니다. 잠시 후 새로고침해 주세요.
+                </div>
+            </c:if>
             <div class="profile-header">
                 <div class="profile-info">
                     <div class="profile-avatar">
-                        <img src="${user.avatarFull}" alt="${user.personaName}" class="avatar-large">
+                        <img src="${fn:escapeXml(player.avatarFull)}" alt="${fn:escapeXml(player.personaName)}" class="avatar-large">
                         <div class="rank-badge">
                             <img src="${profileData.rankIcon}" alt="Rank" class="rank-icon">
                             <span class="rank-name">${profileData.currentRank}</span>
@@ -28,35 +34,37 @@
                     </div>
                     
                     <div class="profile-details">
-                        <h1 class="profile-name">${user.personaName}</h1>
-                        <p class="steam-id">Steam ID: ${steamId}</p>
+                        <h1 class="profile-name"><c:out value="${player.personaName}"/></h1>
+                        <p class="steam-id">Steam ID: ${playerSteamId}</p>
                         
-                        <div class="profile-stats-summary">
-                            <div class="stat-item">
-                                <span class="stat-value">${profileData.totalMatches}</span>
-                                <span class="stat-label">총 게임</span>
-                            </div>
-                            <div class="stat-item">
-                                <span class="stat-value"><fmt:formatNumber value="${profileData.winRate}" pattern="0.0"/>%</span>
-                                <span class="stat-label">승률</span>
-                            </div>
-                            <div class="stat-item">
-                                <span class="stat-value"><fmt:formatNumber value="${profileData.avgKDA}" pattern="0.00"/></span>
-                                <span class="stat-label">평균 KDA</span>
-                            </div>
-                            <div class="stat-item">
-                                <div class="favorite-hero">
-                                    <img src="${profileData.favoriteHeroImage}" alt="${profileData.favoriteHero}" class="hero-icon">
-                                    <span class="stat-value">${profileData.favoriteHero}</span>
+                        <dl:cache key="summary:${playerSteamId}" version="${profileData.totalMatches}:${profileData.winRate}:${profileData.avgKDA}:${profileData.favoriteHero}">
+                            <div class="profile-stats-summary">
+                                <div class="stat-item">
+                                    <span class="stat-value summary-total-matches">${profileData.totalMatches}</span>
+                                    <span class="stat-label">총 게임</span>
+                                </div>
+                                <div class="stat-item">
+                                    <span class="stat-value summary-win-rate"><fmt:formatNumber value="${profileData.winRate}" pattern="0.0"/>%</span>
+                                    <span class="stat-label">승률</span>
+                                </div>
+                                <div class="stat-item">
+                                    <span class="stat-value summary-avg-kda"><fmt:formatNumber value="${profileData.avgKDA}" pattern="0.00"/></span>
+                                    <span class="stat-label">평균 KDA</span>
+                                </div>
+                                <div class="stat-item">
+                                    <div class="favorite-hero">
+                                        <img src="${profileData.favoriteHeroImage}" alt="${profileData.favoriteHero}" class="hero-icon">
+                                        <span class="stat-value">${profileData.favoriteHero}</span>
+                                    </div>
+                                    <span class="stat-label">주 캐릭터</span>
                                 </div>
-                                <span class="stat-label">주 캐릭터</span>
                             </div>
-                        </div>
+                        </dl:cache>
                     </div>
                 </div>
             </div>
             
-            <div class="profile-tabs">
+            <div class="profile-tabs" data-api-base="${apiBase}" data-cached="${profileData.cached}">
                 <nav class="tab-nav">
                     <button class="tab-button ${currentTab == 'matches' ? 'active' : ''}" 
                             onclick="switchTab('matches')">
@@ -70,6 +78,10 @@
                             onclick="switchTab('heroes')">
                         캐릭터
                     </button>
+                    <button class="tab-button ${currentTab == 'items' ? 'active' : ''}" 
+                            onclick="switchTab('items')">
+                        아이템
+                    </button>
                 </nav>
                 
                 <div class="tab-content">
@@ -77,27 +89,33 @@
                         <div class="matches-container">
                             <div class="matches-header">
                                 <h3>최근 매치</h3>
-                                
-                                <!-- 패치 및 날짜 필터 -->
-                                <div class="patch-filters">
-                                    <div class="filter-group">
-                                        <label for="patchSelector">패치:</label>
-                                        <select id="patchSelector">
-                                            <option value="all">전체</option>
-                                            <option value="current" selected>현재 패치</option>
-                                            <option value="previous">이전 패치</option>
-                                        </select>
+                                <c:if test="${ownProfile}">
+                                    <div class="matches-export">
+                                        <a class="btn btn-secondary" href="/profile/api/export?format=csv">CSV 내보내기</a>
+                                        <a class="btn btn-secondary" href="/profile/api/export?format=ndjson">NDJSON 내보내기</a>
                                     </div>
+                                
+                                    <!-- 패치 및 날짜 필터 -->
+                                    <div class="patch-filters">
+                                        <div class="filter-group">
+                                            <label for="patchSelector">패치:</label>
+                                            <select id="patchSelector">
+                                                <option value="all">전체</option>
+                                                <option value="current" selected>현재 패치</option>
+                                                <option value="previous">이전 패치</option>
+                                            </select>
+                                        </div>
                                     
-                                    <div class="filter-group">
-                                        <label for="dateRangeStart">기간:</label>
-                                        <input type="date" id="dateRangeStart" 
-                                               value="2025-05-08" max="2025-08-19">
-                                        <span class="date-separator">~</span>
-                                        <input type="date" id="dateRangeEnd" 
-                                               value="2025-08-19" max="2025-08-19">
+                                        <div class="filter-group">
+                                            <label for="dateRangeStart">기간:</label>
+                                            <input type="date" id="dateRangeStart" 
+                                                   value="2025-05-08" max="2025-08-19">
+                                            <span class="date-separator">~</span>
+                                            <input type="date" id="dateRangeEnd" 
+                                                   value="2025-08-19" max="2025-08-19">
+                                        </div>
                                     </div>
-                                </div>
+                                </c:if>
                                 
                                 <!-- 기존 필터들 -->
                                 <div class="matches-filters">
@@ -114,70 +132,73 @@
                             
                             <div class="matches-list" id="matchesList">
                                 <c:forEach var="match" items="${profileData.recentMatches}">
-                                    <div class="match-card ${match.result == 'WIN' ? 'win' : 'loss'}" data-match-id="${match.matchId}">
-                                        <div class="match-result">
-                                            <span class="result-text">${match.result == 'WIN' ? '승리' : '패배'}</span>
-                                            <span class="match-id">#${match.matchId}</span>
-                                        </div>
+                                    <%-- 종료된 매치는 바뀌지 않으므로 행 HTML을 캐시 (행을 채운 카탈로그 버전이나 캐릭터 이름이 바뀌면 다시 렌더링) --%>
+                                    <dl:cache key="match-row:${match.matchId}:${playerSteamId}" version="${catalogVersion}:${match.hero}">
+                                        <div class="match-card ${match.result == 'WIN' ? 'win' : 'loss'}" data-match-id="${match.matchId}">
+                                            <div class="match-result">
+                                                <span class="result-text">${match.result == 'WIN' ? '승리' : '패배'}</span>
+                                                <span class="match-id">#${match.matchId}</span>
+                                            </div>
                                         
-                                        <div class="match-hero">
-                                            <img src="${match.heroImage}" 
-                                                 alt="${match.hero}" class="hero-icon"
-                                                 onerror="this.src='/resources/images/heroes/default.jpg'">
-                                            <span class="hero-name">${match.hero}</span>
-                                        </div>
+                                            <div class="match-hero">
+                                                <img src="${match.heroImage}" 
+                                                     alt="${match.hero}" class="hero-icon"
+                                                     onerror="this.src='/resources/images/heroes/default.jpg'">
+                                                <span class="hero-name">${match.hero}</span>
+                                            </div>
                                         
-                                        <div class="match-kda">
-                                            <span class="kda-value">${match.kills}/${match.deaths}/${match.assists}</span>
-                                            <span class="kda-ratio">
-                                                <fmt:formatNumber value="${(match.kills + match.assists) / (match.deaths > 0 ? match.deaths : 1)}" 
-                                                                pattern="0.00"/> KDA
-                                            </span>
-                                        </div>
+                                            <div class="match-kda">
+                                                <span class="kda-value">${match.kills}/${match.deaths}/${match.assists}</span>
+                                                <span class="kda-ratio">
+                                                    <fmt:formatNumber value="${(match.kills + match.assists) / (match.deaths > 0 ? match.deaths : 1)}" 
+                                                                    pattern="0.00"/> KDA
+                                                </span>
+                                            </div>
                                         
-                                        <div class="match-networth">
-                                            <span class="networth-value">
-                                                <fmt:formatNumber value="${match.netWorth}" pattern="#,###"/>
-                                            </span>
-                                            <span class="networth-label">Net Worth</span>
-                                        </div>
+                                            <div class="match-networth">
+                                                <span class="networth-value">
+                                                    <fmt:formatNumber value="${match.netWorth}" pattern="#,###"/>
+                                                </span>
+                                                <span class="networth-label">Net Worth</span>
+                                            </div>
                                         
-                                        <div class="match-duration">
-                                            <span class="duration-value">${match.duration}</span>
-                                        </div>
+                                            <div class="match-duration">
+                                                <span class="duration-value">${match.duration}</span>
+                                            </div>
                                         
-                                        <div class="match-time">
-                                            <span class="time-value" data-timestamp="${match.startTime}">
-                                                <!-- JavaScript로 동적 업데이트 -->
-                                            </span>
-                                        </div>
+                                            <div class="match-time">
+                                                <span class="time-value" data-timestamp="${match.startTime}">
+                                                    <!-- JavaScript로 동적 업데이트 -->
+                                                </span>
+                                            </div>
                                         
-                                        <div class="match-items">
-                                            <span class="items-label">Final Items</span>
-                                            <div class="items-grid">
-                                                <c:forEach var="item" items="${match.finalItems}" varStatus="status">
-                                                    <c:choose>
-                                                        <c:when test="${fn:startsWith(item.image, 'http')}">
-                                                            <img src="${item.image}" 
-                                                                 alt="${item.name}" 
-                                                                 class="item-icon"
-                                                                 title="${item.name}"
-                                                                 crossorigin="anonymous">
-                                                        </c:when>
-                                                        <c:otherwise>
-                                                            <img src="${pageContext.request.contextPath}${item.image}" 
-                                                                 alt="${item.name}" 
-                                                                 class="item-icon"
-                                                                 title="${item.name}">
-                                                        </c:otherwise>
-                                                    </c:choose>
-                                                </c:forEach>
-                                                <c:if test="${empty match.finalItems}">
-                                                    <span class="no-items">No items data</span>
-                                                </c:if>
+                                            <div class="match-items">
+                                                <span class="items-label">Final Items</span>
+                                                <div class="items-grid">
+                                                    <c:forEach var="item" items="${match.finalItems}" varStatus="status">
+                                                        <c:choose>
+                                                            <c:when test="${fn:startsWith(item.image, 'http')}">
+                                                                <img src="${item.image}" 
+                                                                     alt="${item.name}" 
+                                                                     class="item-icon"
+                                                                     title="${item.name}"
+                                                                     crossorigin="anonymous">
+                                                            </c:when>
+                                                            <c:otherwise>
+                                                                <img src="${pageContext.request.contextPath}${item.image}" 
+                                                                     alt="${item.name}" 
+                                                                     class="item-icon"
+                                                                     title="${item.name}">
+                                                            </c:otherwise>
+                                                        </c:choose>
+                                                    </c:forEach>
+                                                    <c:if test="${empty match.finalItems}">
+                                                        <span class="no-items">No items data</span>
+                                                    </c:if>
+                                                </div>
                                             </div>
                                         </div>
-                                    </div>
+                                    </dl:cache>
                                 </c:forEach>
                             </div>
                             
@@ -191,39 +212,41 @@
                     
                     <div id="stats-tab" class="tab-pane ${currentTab == 'stats' ? 'active' : ''}">
                         <div class="stats-container">
-                            <div class="stats-grid">
-                                <div class="stat-card">
-                                    <h4>킬/데스/어시스트</h4>
-                                    <div class="stat-row">
-                                        <span class="stat-label">총 킬:</span>
-                                        <span class="stat-value">${profileData.totalKills}</span>
-                                    </div>
-                                    <div class="stat-row">
-                                        <span class="stat-label">총 데스:</span>
-                                        <span class="stat-value">${profileData.totalDeaths}</span>
-                                    </div>
-                                    <div class="stat-row">
-                                        <span class="stat-label">총 어시스트:</span>
-                                        <span class="stat-value">${profileData.totalAssists}</span>
+                            <dl:cache key="stats:${playerSteamId}" version="${profileData.totalMatches}:${profileData.totalKills}:${profileData.totalDeaths}:${profileData.totalAssists}:${profileData.winRate}">
+                                <div class="stats-grid">
+                                    <div class="stat-card">
+                                        <h4>킬/데스/어시스트</h4>
+                                        <div class="stat-row">
+                                            <span class="stat-label">총 킬:</span>
+                                            <span class="stat-value">${profileData.totalKills}</span>
+                                        </div>
+                                        <div class="stat-row">
+                                            <span class="stat-label">총 데스:</span>
+                                            <span class="stat-value">${profileData.totalDeaths}</span>
+                                        </div>
+                                        <div class="stat-row">
+                                            <span class="stat-label">총 어시스트:</span>
+                                            <span class="stat-value">${profileData.totalAssists}</span>
+                                        </div>
                                     </div>
-                                </div>
                                 
-                                <div class="stat-card">
-                                    <h4>성과</h4>
-                                    <div class="stat-row">
-                                        <span class="stat-label">승률:</span>
-                                        <span class="stat-value highlight">
-                                            <fmt:formatNumber value="${profileData.winRate}" pattern="0.0"/>%
-                                        </span>
-                                    </div>
-                                    <div class="stat-row">
-                                        <span class="stat-label">평균 KDA:</span>
-                                        <span class="stat-value highlight">
-                                            <fmt:formatNumber value="${profileData.avgKDA}" pattern="0.00"/>
-                                        </span>
+                                    <div class="stat-card">
+                                        <h4>성과</h4>
+                                        <div class="stat-row">
+                                            <span class="stat-label">승률:</span>
+                                            <span class="stat-value highlight">
+                                                <fmt:formatNumber value="${profileData.winRate}" pattern="0.0"/>%
+                                            </span>
+                                        </div>
+                                        <div class="stat-row">
+                                            <span class="stat-label">평균 KDA:</span>
+                                            <span class="stat-value highlight">
+                                                <fmt:formatNumber value="${profileData.avgKDA}" pattern="0.00"/>
+                                            </span>
+                                        </div>
                                     </div>
                                 </div>
-                            </div>
+                            </dl:cache>
                         </div>
                     </div>
                     
@@ -233,6 +256,13 @@
                             <p class="coming-soon">캐릭터별 상세 통계는 곧 제공될 예정입니다.</p>
                         </div>
                     </div>
+                    
+                    <div id="items-tab" class="tab-pane ${currentTab == 'items' ? 'active' : ''}">
+                        <div class="items-container">
+                            <h3>아이템 분석</h3>
+                            <div id="itemImpact"></div>
+                        </div>
+                    </div>
                 </div>
             </div>
         </div>
@@ -1,4 +1,4 @@
-<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ page contentType="text/html;charset=UTF-8" language="java" session="false" %>
 <%
     response.sendRedirect(request.getContextPath() + "/");
 %>
\ No newline at end of file
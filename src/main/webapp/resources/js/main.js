@@ -13,6 +13,64 @@ function initializeApp() {
     
     // Initialize lazy loading for images
     initializeLazyLoading();
+    
+    // Initialize player search typeahead
+    initializePlayerSearch();
+}
+
+// Player search typeahead (서버가 조회한 적 있는 플레이어 이름 접두어 검색)
+function initializePlayerSearch() {
+    const input = document.getElementById('playerSearchInput');
+    const results = document.getElementById('playerSearchResults');
+    if (!input || !results) return;
+    
+    let timer = null;
+    let latestQuery = '';
+    
+    input.addEventListener('input', function() {
+        clearTimeout(timer);
+        const query = input.value.trim();
+        if (!query) {
+            results.innerHTML = '';
+            results.classList.remove('show');
+            return;
+        }
+        timer = setTimeout(async () => {
+            latestQuery = query;
+            try {
+                const data = await apiCall(`/api/players/search?q=${encodeURIComponent(query)}&limit=8`);
+                if (query !== latestQuery) return; // 늦게 도착한 이전 응답 무시
+                renderPlayerSearchResults(results, data.players || []);
+            } catch (error) {
+                results.classList.remove('show');
+            }
+        }, 150);
+    });
+    
+    document.addEventListener('click', function(event) {
+        if (!event.target.closest('.player-search')) {
+            results.classList.remove('show');
+        }
+    });
+}
+
+function renderPlayerSearchResults(results, players) {
+    results.innerHTML = '';
+    if (players.length === 0) {
+        results.innerHTML = '<div class="player-search-empty">검색 결과가 없습니다.</div>';
+    }
+    players.forEach(player => {
+        const link = document.createElement('a');
+        link.className = 'player-search-item';
+        link.href = playerProfileUrl(player.steamId);
+        link.textContent = player.personaName || `Steam ID ${player.steamId}`;
+        results.appendChild(link);
+    });
+    results.classList.add('show');
+}
+
+function playerProfileUrl(steamId) {
+    return `/players/${steamId}`;
 }
 
 // Tooltip functionality
@@ -130,13 +188,16 @@ function showError(elementId, message) {
 }
 
 // API helper functions
+// options.compact: CBOR 응답을 요청 (서버가 지원하지 않으면 JSON으로 응답)
 async function apiCall(url, options = {}) {
+    const { compact, ...fetchOptions } = options;
     try {
         const response = await fetch(url, {
-            ...options,
+            ...fetchOptions,
             headers: {
                 'Content-Type': 'application/json',
-                ...options.headers
+                ...(compact ? { 'Accept': 'application/cbor, application/json;q=0.9' } : {}),
+                ...fetchOptions.headers
             }
         });
         
@@ -144,6 +205,10 @@ async function apiCall(url, options = {}) {
             throw new Error(`HTTP error! status: ${response.status}`);
         }
         
+        const contentType = response.headers.get('Content-Type') || '';
+        if (contentType.startsWith('application/cbor')) {
+            return decodeCbor(await response.arrayBuffer());
+        }
         return await response.json();
     } catch (error) {
         console.error('API call failed:', error);
@@ -151,6 +216,104 @@ async function apiCall(url, options = {}) {
     }
 }
 
+// CBOR(RFC 8949) 디코더 - Jackson CBOR 출력에 쓰이는 타입만 지원
+function decodeCbor(buffer) {
+    const view = new DataView(buffer);
+    const textDecoder = new TextDecoder('utf-8');
+    let offset = 0;
+    
+    function readLength(info) {
+        if (info < 24) return info;
+        if (info === 24) { offset += 1; return view.getUint8(offset - 1); }
+        if (info === 25) { offset += 2; return view.getUint16(offset - 2); }
+        if (info === 26) { offset += 4; return view.getUint32(offset - 4); }
+        if (info === 27) {
+            offset += 8;
+            return view.getUint32(offset - 8) * 4294967296 + view.getUint32(offset - 4);
+        }
+        if (info === 31) return -1; // 길이 미정
+        throw new Error('Invalid CBOR length');
+    }
+    
+    function readHalf() {
+        const half = view.getUint16(offset);
+        offset += 2;
+        const exp = (half >> 10) & 0x1f;
+        const mant = half & 0x3ff;
+        const sign = half & 0x8000 ? -1 : 1;
+        if (exp === 0) return sign * mant * Math.pow(2, -24);
+        if (exp === 31) return mant ? NaN : sign * Infinity;
+        return sign * (mant + 1024) * Math.pow(2, exp - 25);
+    }
+    
+    function isBreak() {
+        if (view.getUint8(offset) === 0xff) {
+            offset++;
+            return true;
+        }
+        return false;
+    }
+    
+    function readChunks(length, major) {
+        if (length >= 0) {
+            const bytes = new Uint8Array(buffer, offset, length);
+            offset += length;
+            return major === 3 ? textDecoder.decode(bytes) : bytes.slice();
+        }
+        const chunks = [];
+        while (!isBreak()) {
+            chunks.push(readItem());
+        }
+        return major === 3 ? chunks.join('') : chunks;
+    }
+    
+    function readItem() {
+        const initial = view.getUint8(offset++);
+        const major = initial >> 5;
+        const info = initial & 0x1f;
+        
+        if (major === 7) {
+            switch (info) {
+                case 20: return false;
+                case 21: return true;
+                case 22: return null;
+                case 23: return undefined;
+                case 25: return readHalf();
+                case 26: offset += 4; return view.getFloat32(offset - 4);
+                case 27: offset += 8; return view.getFloat64(offset - 8);
+                default: throw new Error('Unsupported CBOR simple value: ' + info);
+            }
+        }
+        
+        const length = readLength(info);
+        switch (major) {
+            case 0: return length;
+            case 1: return -1 - length;
+            case 2:
+            case 3: return readChunks(length, major);
+            case 4: {
+                const array = [];
+                for (let i = 0; length < 0 ? !isBreak() : i < length; i++) {
+                    array.push(readItem());
+                }
+                return array;
+            }
+            case 5: {
+                const object = {};
+                for (let i = 0; length < 0 ? !isBreak() : i < length; i++) {
+                    const key = readItem();
+                    object[key] = readItem();
+                }
+                return object;
+            }
+            case 6: return readItem(); // 태그는 무시하고 값만 사용
+        }
+        throw new Error('Invalid CBOR major type: ' + major);
+    }
+    
+    return readItem();
+}
+
 // Format functions
 function formatNumber(num) {
     if (num >= 1000000) {
@@ -228,6 +391,7 @@ initializeTheme();
 // Export functions for use in other scripts
 window.AppUtils = {
     apiCall,
+    decodeCbor,
     showLoading,
     hideLoading,
     showError,
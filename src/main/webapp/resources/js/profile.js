@@ -6,6 +6,10 @@ let hasMoreMatches = true;
 let currentPatchFilter = null;
 let currentDateRange = null;
 
+// 프로필 API 경로 (본인 프로필: /profile/api, 공개 프로필: /players/{steamId}/api)
+const apiBaseElement = document.querySelector('[data-api-base]');
+const PROFILE_API = (apiBaseElement && apiBaseElement.dataset.apiBase) || '/profile/api';
+
 // Time formatting utility functions
 function formatTimeAgo(timestamp) {
     const now = new Date();
@@ -51,6 +55,9 @@ function initializeProfilePage() {
     // Initialize infinite scroll for matches
     initializeInfiniteScroll();
     
+    // Initialize match scoreboard on card click
+    initializeMatchDetails();
+    
     // Update all timestamps on page load
     updateAllTimestamps();
     
@@ -74,7 +81,8 @@ function getTabKey(tabName) {
     const tabMap = {
         '매치 기록': 'matches',
         '통계': 'stats',
-        '캐릭터': 'heroes'
+        '캐릭터': 'heroes',
+        '아이템': 'items'
     };
     return tabMap[tabName] || 'matches';
 }
@@ -223,14 +231,21 @@ function getCurrentTab() {
 async function loadTabData(tabKey) {
     switch (tabKey) {
         case 'matches':
-            // Matches are already loaded server-side, but we can refresh if needed
+            // Cached rows are already rendered server-side; stream only when the page was rendered without them
+            if (!(apiBaseElement && apiBaseElement.dataset.cached === 'true')) {
+                await streamMatches();
+            }
             break;
         case 'stats':
             await loadStatsData();
+            await loadTrendData();
             break;
         case 'heroes':
             await loadHeroesData();
             break;
+        case 'items':
+            await loadItemImpactData();
+            break;
     }
 }
 
@@ -238,7 +253,7 @@ async function loadStatsData() {
     try {
         AppUtils.showLoading('stats-tab');
         
-        const stats = await AppUtils.apiCall('/profile/api/stats');
+        const stats = await AppUtils.apiCall(`${PROFILE_API}/stats`, { compact: true });
         
         // Update stats display
         updateStatsDisplay(stats);
@@ -251,6 +266,159 @@ async function loadStatsData() {
     }
 }
 
+async function loadItemImpactData() {
+    const container = document.getElementById('itemImpact');
+    if (!container || container.dataset.loaded) return;
+    
+    try {
+        AppUtils.showLoading('itemImpact');
+        const data = await AppUtils.apiCall(`${PROFILE_API}/items`, { compact: true });
+        container.innerHTML = renderItemImpact(data);
+        container.dataset.loaded = 'true';
+    } catch (error) {
+        console.error('Failed to load item impact:', error);
+        AppUtils.showError('itemImpact', '아이템 분석 데이터를 불러올 수 없습니다.');
+    } finally {
+        AppUtils.hideLoading('itemImpact');
+    }
+}
+
+function renderItemImpact(data) {
+    if (!data.items || data.items.length === 0) {
+        return '<p class="coming-soon">분석할 아이템 데이터가 없습니다.</p>';
+    }
+    
+    const deltaClass = delta => delta > 0 ? 'positive' : delta < 0 ? 'negative' : '';
+    const itemCell = item => `
+        <span class="item-cell">
+            <img src="${item.image}" alt="${item.name}" class="item-icon" title="${item.name}">
+            <span>${item.name}</span>
+        </span>`;
+    
+    const itemRows = data.items.map(item => `
+        <tr>
+            <td>${itemCell(item)}</td>
+            <td>${item.matches}</td>
+            <td>${item.winRate.toFixed(1)}%</td>
+            <td>${item.withoutMatches > 0 ? item.withoutWinRate.toFixed(1) + '%' : '-'}</td>
+            <td class="${deltaClass(item.winRateDelta)}">${item.winRateDelta == null ? '-' : (item.winRateDelta > 0 ? '+' : '') + item.winRateDelta.toFixed(1)}</td>
+        </tr>
+    `).join('');
+    
+    const pairRows = data.pairs.map(pair => `
+        <tr>
+            <td>${pair.items.map(itemCell).join(' + ')}</td>
+            <td>${pair.matches}</td>
+            <td>${pair.winRate.toFixed(1)}%</td>
+        </tr>
+    `).join('');
+    
+    return `
+        <p class="item-impact-summary">
+            최근 ${data.analyzedMatches}경기 분석 (전체 승률 ${data.winRate.toFixed(1)}%, 최소 ${data.minMatches}경기 사용 아이템)
+        </p>
+        <table class="item-impact-table">
+            <thead>
+                <tr><th>아이템</th><th>경기</th><th>보유 시 승률</th><th>미보유 시 승률</th><th>차이</th></tr>
+            </thead>
+            <tbody>${itemRows}</tbody>
+        </table>
+        ${pairRows ? `
+        <h4>자주 함께 사용한 조합</h4>
+        <table class="item-impact-table">
+            <thead>
+                <tr><th>조합</th><th>경기</th><th>승률</th></tr>
+            </thead>
+            <tbody>${pairRows}</tbody>
+        </table>` : ''}
+    `;
+}
+
+// 추세 차트 (서버에서 집계한 시계열만 받아서 SVG로 그림)
+async function loadTrendData() {
+    const statsTab = document.getElementById('stats-tab');
+    if (!statsTab) return;
+    
+    let container = document.getElementById('trendCharts');
+    if (!container) {
+        container = document.createElement('div');
+        container.id = 'trendCharts';
+        container.className = 'trend-container';
+        statsTab.appendChild(container);
+    }
+    
+    try {
+        const tz = Intl.DateTimeFormat().resolvedOptions().timeZone || 'Asia/Seoul';
+        const data = await AppUtils.apiCall(`${PROFILE_API}/stats/trends?window=20&period=7&tz=${encodeURIComponent(tz)}`, { compact: true });
+        if (data.error) {
+            throw new Error(data.error);
+        }
+        container.innerHTML = renderTrends(data);
+    } catch (error) {
+        console.error('Failed to load trends:', error);
+        AppUtils.showError('trendCharts', '추세 데이터를 불러올 수 없습니다.');
+    }
+}
+
+function renderTrends(data) {
+    if (!data.rolling || data.rolling.length === 0) {
+        return '<p class="coming-soon">추세를 표시할 매치가 없습니다.</p>';
+    }
+    
+    const { current, previous, change, periodDays } = data.comparison;
+    const signed = (value, digits) => `${value > 0 ? '+' : ''}${Number(value).toFixed(digits)}`;
+    const changeClass = value => value > 0 ? 'positive' : value < 0 ? 'negative' : '';
+    const comparisonCard = (label, now, before, delta, format, digits) => `
+        <div class="trend-compare-card">
+            <span class="stat-label">${label}</span>
+            <span class="stat-value">${format(now)}</span>
+            <span class="trend-change ${changeClass(delta)}">${signed(delta, digits)} (이전 ${format(before)})</span>
+        </div>
+    `;
+    
+    return `
+        <h4>최근 ${periodDays}일 vs 이전 ${periodDays}일</h4>
+        <div class="trend-compare">
+            ${comparisonCard('경기 수', current.matches, previous.matches, change.matches, v => v, 0)}
+            ${comparisonCard('승률', current.winRate, previous.winRate, change.winRate, v => v.toFixed(1) + '%', 1)}
+            ${comparisonCard('KDA', current.kda, previous.kda, change.kda, v => v.toFixed(2), 2)}
+            ${comparisonCard('평균 소울', current.avgNetWorth, previous.avgNetWorth, change.avgNetWorth, AppUtils.formatNumber, 0)}
+        </div>
+        <h4>최근 ${data.window}경기 이동 평균</h4>
+        ${renderTrendChart(data.rolling, 'winRate', '승률 (%)')}
+        ${renderTrendChart(data.rolling, 'kda', 'KDA')}
+        ${renderTrendChart(data.rolling, 'avgNetWorth', '평균 소울')}
+        <h4>주간 승률</h4>
+        ${renderTrendChart(data.weekly, 'winRate', '승률 (%)')}
+    `;
+}
+
+function renderTrendChart(points, key, label) {
+    const width = 600;
+    const height = 120;
+    const values = points.map(point => point[key]);
+    const min = Math.min(...values);
+    const max = Math.max(...values);
+    const range = max - min || 1;
+    const step = points.length > 1 ? width / (points.length - 1) : 0;
+    
+    const path = values.map((value, i) =>
+        `${(i * step).toFixed(1)},${(height - (value - min) / range * height).toFixed(1)}`
+    ).join(' ');
+    
+    return `
+        <div class="trend-chart">
+            <div class="trend-chart-header">
+                <span>${label}</span>
+                <span class="trend-range">${Number(min.toFixed(2))} ~ ${Number(max.toFixed(2))}</span>
+            </div>
+            <svg viewBox="0 0 ${width} ${height}" preserveAspectRatio="none">
+                <polyline points="${path}" />
+            </svg>
+        </div>
+    `;
+}
+
 async function loadHeroesData() {
     // Heroes data loading will be implemented when available
     console.log('Loading heroes data...');
@@ -269,7 +437,7 @@ async function loadMoreMatches() {
         }
         
         currentMatchPage++;
-        const matches = await AppUtils.apiCall(`/profile/api/matches?page=${currentMatchPage}&size=10`);
+        const matches = await AppUtils.apiCall(`${PROFILE_API}/matches?page=${currentMatchPage}&size=10`, { compact: true });
         
         if (matches.matches && matches.matches.length > 0) {
             appendMatchesToList(matches.matches);
@@ -305,6 +473,199 @@ async function loadMoreMatches() {
     }
 }
 
+// Read an NDJSON response line by line and hand each record over as soon as it arrives
+async function streamNdjson(url, onRecord) {
+    const response = await fetch(url, { headers: { 'Accept': 'application/x-ndjson' } });
+    if (!response.ok) {
+        throw new Error(`HTTP error! status: ${response.status}`);
+    }
+    
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    
+    while (true) {
+        const { done, value } = await reader.read();
+        if (done) break;
+        
+        buffer += decoder.decode(value, { stream: true });
+        let newline;
+        while ((newline = buffer.indexOf('\n')) >= 0) {
+            const line = buffer.slice(0, newline).trim();
+            buffer = buffer.slice(newline + 1);
+            if (line) onRecord(JSON.parse(line));
+        }
+    }
+    
+    buffer += decoder.decode();
+    if (buffer.trim()) onRecord(JSON.parse(buffer));
+}
+
+// Render matches row by row while the server is still fetching the rest
+async function streamMatches() {
+    const matchesList = document.getElementById('matchesList');
+    if (!matchesList) return;
+    
+    let received = 0;
+    
+    try {
+        await streamNdjson(`${PROFILE_API}/matches/stream`, match => {
+            if (match.error) {
+                throw new Error(match.error);
+            }
+            if (received === 0) {
+                matchesList.innerHTML = '';
+            }
+            insertMatchCardByTime(matchesList, createMatchCard(match), match.startTime || 0);
+            received++;
+        });
+        
+        if (received === 0) {
+            matchesList.innerHTML = '<div class="no-matches">매치 기록이 없습니다.</div>';
+        }
+        populateHeroFilter();
+        
+        // The summary was rendered without cached stats; fill it in now that the data is loaded
+        if (received > 0) {
+            updateSummaryDisplay(await AppUtils.apiCall(`${PROFILE_API}/stats`, { compact: true }), received);
+        }
+    } catch (error) {
+        console.error('Failed to stream matches:', error);
+        if (received === 0 && !matchesList.querySelector('.match-card')) {
+            AppUtils.showError('matchesList', '매치 데이터를 불러올 수 없습니다.');
+        }
+    }
+}
+
+// 매치 카드 클릭 시 12명 스코어보드 표시 (다시 클릭하면 닫기)
+function initializeMatchDetails() {
+    const matchesList = document.getElementById('matchesList');
+    if (!matchesList) return;
+    
+    matchesList.addEventListener('click', function(event) {
+        const card = event.target.closest('.match-card');
+        if (!card || !card.dataset.matchId) return;
+        toggleMatchScoreboard(card);
+    });
+}
+
+async function toggleMatchScoreboard(card) {
+    const next = card.nextElementSibling;
+    if (next && next.classList.contains('match-scoreboard')) {
+        next.remove();
+        return;
+    }
+    
+    const panel = document.createElement('div');
+    panel.className = 'match-scoreboard';
+    panel.id = `scoreboard-${card.dataset.matchId}`;
+    panel.innerHTML = '<div class="scoreboard-loading">불러오는 중...</div>';
+    card.after(panel);
+    
+    try {
+        const data = await AppUtils.apiCall(`${PROFILE_API}/matches/${card.dataset.matchId}`, { compact: true });
+        if (data.error) {
+            throw new Error(data.error);
+        }
+        panel.replaceChildren(renderScoreboard(data));
+    } catch (error) {
+        AppUtils.showError(panel.id, '매치 상세 정보를 불러올 수 없습니다.');
+    }
+}
+
+// Names come from any Steam account in the match, so build the scoreboard with DOM nodes instead of HTML strings
+function renderScoreboard(data) {
+    const fragment = document.createDocumentFragment();
+    
+    const summary = createTextElement('div', 'scoreboard-summary');
+    summary.append(
+        createTextElement('span', '', `Match #${data.matchId}`),
+        createTextElement('span', '', AppUtils.formatDuration(data.durationS))
+    );
+    fragment.appendChild(summary);
+    
+    [0, 1].forEach(team => {
+        const players = data.players
+            .filter(player => player.team === team)
+            .sort((a, b) => b.netWorth - a.netWorth);
+        const won = data.winningTeam === team;
+        
+        const teamElement = createTextElement('div', `scoreboard-team ${won ? 'win' : 'loss'}`);
+        const header = createTextElement('div', 'scoreboard-team-header');
+        header.append(
+            createTextElement('span', '', `Team ${team + 1}`),
+            createTextElement('span', 'result-text', won ? '승리' : '패배')
+        );
+        teamElement.appendChild(header);
+        players.forEach(player => teamElement.appendChild(renderScoreboardRow(player)));
+        fragment.appendChild(teamElement);
+    });
+    
+    return fragment;
+}
+
+function renderScoreboardRow(player) {
+    const heroIcon = createImage(player.heroImage, player.hero, 'hero-icon');
+    heroIcon.onerror = function() {
+        this.onerror = null;
+        this.src = '/resources/images/heroes/default.jpg';
+    };
+    
+    const name = createTextElement('span', 'player-name');
+    if (player.steamId) {
+        const link = document.createElement('a');
+        link.href = playerProfileUrl(player.steamId);
+        link.textContent = player.personaName;
+        name.appendChild(link);
+    } else {
+        name.textContent = player.personaName;
+    }
+    
+    const playerCell = createTextElement('div', 'scoreboard-player');
+    playerCell.append(heroIcon, name);
+    
+    const items = createTextElement('div', 'items-grid');
+    player.items.forEach(item => items.appendChild(createImage(item.image, item.name, 'item-icon')));
+    
+    const row = createTextElement('div', 'scoreboard-row');
+    row.append(
+        playerCell,
+        createTextElement('span', 'kda-value', `${player.kills}/${player.deaths}/${player.assists}`),
+        createTextElement('span', 'kda-ratio', `${player.kda.toFixed(2)} KDA`),
+        createTextElement('span', 'networth-value', AppUtils.formatNumber(player.netWorth)),
+        items
+    );
+    return row;
+}
+
+function createTextElement(tag, className, text) {
+    const element = document.createElement(tag);
+    if (className) {
+        element.className = className;
+    }
+    if (text !== undefined) {
+        element.textContent = text;
+    }
+    return element;
+}
+
+function createImage(src, title, className) {
+    const image = document.createElement('img');
+    image.src = src;
+    image.alt = title;
+    image.title = title;
+    image.className = className;
+    return image;
+}
+
+// Records arrive in upstream order, so keep the list sorted newest first
+function insertMatchCardByTime(matchesList, card, startTime) {
+    card.dataset.startTime = startTime;
+    const next = Array.from(matchesList.querySelectorAll('.match-card'))
+        .find(existing => Number(existing.dataset.startTime || 0) < startTime);
+    matchesList.insertBefore(card, next || null);
+}
+
 function appendMatchesToList(matches) {
     const matchesList = document.getElementById('matchesList');
     if (!matchesList) return;
@@ -320,7 +681,9 @@ function appendMatchesToList(matches) {
 
 function createMatchCard(match) {
     const card = document.createElement('div');
-    card.className = `match-card ${match.result === 'win' ? 'win' : 'loss'}`;
+    const isWin = String(match.result).toUpperCase() === 'WIN';
+    card.className = `match-card ${isWin ? 'win' : 'loss'}`;
+    card.dataset.matchId = match.matchId;
     
     const kda = (match.kills + match.assists) / (match.deaths > 0 ? match.deaths : 1);
     
@@ -337,7 +700,7 @@ function createMatchCard(match) {
     
     card.innerHTML = `
         <div class="match-result">
-            <span class="result-text">${match.result === 'win' ? '승리' : '패배'}</span>
+            <span class="result-text">${isWin ? '승리' : '패배'}</span>
         </div>
         
         <div class="match-hero">
@@ -393,6 +756,26 @@ function updateStatsDisplay(stats) {
     updateStat('.favorite-hero-value', stats.favoriteHero);
 }
 
+function updateSummaryDisplay(stats, totalMatches) {
+    const updateStat = (selector, value) => {
+        const element = document.querySelector(selector);
+        if (element) {
+            element.textContent = value;
+        }
+    };
+    
+    updateStat('.summary-total-matches', totalMatches);
+    updateStat('.summary-win-rate', stats.winRate.toFixed(1) + '%');
+    updateStat('.summary-avg-kda', stats.avgKDA.toFixed(2));
+    updateStat('.favorite-hero .stat-value', stats.favoriteHero);
+    
+    const heroIcon = document.querySelector('.favorite-hero .hero-icon');
+    if (heroIcon && stats.favoriteHeroImage) {
+        heroIcon.src = stats.favoriteHeroImage;
+        heroIcon.alt = stats.favoriteHero;
+    }
+}
+
 // Patch filtering functionality
 function initializePatchFilters() {
     // URL에서 패치 정보 읽기
@@ -572,6 +955,7 @@ window.ProfilePage = {
     switchTab,
     filterMatches,
     loadMoreMatches,
+    streamMatches,
     loadDataByPatch,
     updateDateRange,
     formatTimeAgo,